@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a task for each item of a batch on a bounded number of threads.  Each thread takes the next item as soon as
+ * it is done with the last one, so a slow item does not hold up the others.
+ */
+final class BatchRunner {
+
+    /**
+     * Task run for each item of a batch.  Tasks are expected to handle their own failures.
+     */
+    interface Task {
+
+        void run(int index);
+    }
+
+    private BatchRunner() {
+    }
+
+    /**
+     * Runs the task for every index of the batch and waits for all of them to finish.
+     *
+     * @param size        Number of items in the batch
+     * @param concurrency Max number of items processed at the same time
+     * @param threadName  Name of the threads processing the items
+     * @param task        Task to run for each item
+     * @throws VaultClientException If interrupted while waiting, or a task failed unexpectedly
+     */
+    static void run(final int size, final int concurrency, final String threadName, final Task task) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be greater than zero.");
+        }
+
+        if (size == 0) {
+            return;
+        }
+
+        final int threads = Math.min(size, concurrency);
+        final AtomicInteger next = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new DaemonThreadFactory(threadName));
+
+        try {
+            final List<Callable<Void>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (int index = next.getAndIncrement(); index < size; index = next.getAndIncrement()) {
+                            task.run(index);
+                        }
+                        return null;
+                    }
+                });
+            }
+
+            for (final Future<Void> worker : executor.invokeAll(workers)) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VaultClientException("Interrupted while waiting for the batch to complete.", e);
+        } catch (ExecutionException e) {
+            throw new VaultClientException("Unexpected error while processing the batch.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.http.RetryPolicy;
+
+/**
+ * Settings for revoking tokens in bulk via {@link VaultAdminClient#revokeTokens(java.util.List, BulkRevokeSettings)}.
+ */
+public class BulkRevokeSettings {
+
+    private int concurrency = VaultAdminClient.DEFAULT_BATCH_CONCURRENCY;
+
+    private double permitsPerSecond;
+
+    private RetryPolicy retryPolicy = new RetryPolicy();
+
+    private RevokeProgressListener progressListener;
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Sets the max number of revoke requests in flight at a time.
+     *
+     * @param concurrency Max number of requests in flight
+     * @return The settings
+     */
+    public BulkRevokeSettings setConcurrency(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be greater than zero.");
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * Limits the rate revoke requests, including retries, are sent at.  By default the rate is not limited.
+     *
+     * @param permitsPerSecond Max requests per second, zero for no limit
+     * @return The settings
+     */
+    public BulkRevokeSettings setRateLimit(double permitsPerSecond) {
+        if (permitsPerSecond < 0) {
+            throw new IllegalArgumentException("Rate limit can not be negative.");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        return this;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Sets how I/O errors and responses with a retryable status code are retried.  Only the max retries, delays
+     * and retryable status codes of the policy are used.
+     *
+     * @param retryPolicy Retry policy
+     * @return The settings
+     */
+    public BulkRevokeSettings setRetryPolicy(RetryPolicy retryPolicy) {
+        if (retryPolicy == null) {
+            throw new IllegalArgumentException("Retry policy can not be null.");
+        }
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    public RevokeProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    /**
+     * Sets the listener notified as each token is done with.
+     *
+     * @param progressListener Progress listener
+     * @return The settings
+     */
+    public BulkRevokeSettings setProgressListener(RevokeProgressListener progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.http.HttpStatus;
+import com.nike.vault.client.http.RetryPolicy;
+import com.nike.vault.client.model.VaultRevokeTokensResult;
+import com.nike.vault.client.model.VaultRevokeTokensResult.Outcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revokes a batch of tokens in parallel for {@link VaultAdminClient}, pacing the requests to the configured rate and
+ * retrying transient failures.
+ */
+final class BulkTokenRevoker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkTokenRevoker.class);
+
+    private final VaultAdminClient vaultClient;
+
+    private final BulkRevokeSettings settings;
+
+    private final boolean orphan;
+
+    private final long intervalNanos;
+
+    private final AtomicLong nextSlotNanos = new AtomicLong(System.nanoTime());
+
+    BulkTokenRevoker(final VaultAdminClient vaultClient, final BulkRevokeSettings settings, final boolean orphan) {
+        this.vaultClient = vaultClient;
+        this.settings = settings;
+        this.orphan = orphan;
+        this.intervalNanos = settings.getPermitsPerSecond() > 0
+                ? (long) (TimeUnit.SECONDS.toNanos(1) / settings.getPermitsPerSecond())
+                : 0;
+    }
+
+    VaultRevokeTokensResult revoke(final List<String> tokens) {
+        final int total = tokens.size();
+        final Outcome[] outcomes = new Outcome[total];
+        final VaultClientException[] errors = new VaultClientException[total];
+        final AtomicInteger completed = new AtomicInteger();
+
+        BatchRunner.run(total, settings.getConcurrency(), "vault-revoke-token", new BatchRunner.Task() {
+            @Override
+            public void run(final int index) {
+                final String token = tokens.get(index);
+                try {
+                    outcomes[index] = revoke(token);
+                } catch (VaultClientException e) {
+                    outcomes[index] = Outcome.FAILED;
+                    errors[index] = e;
+                }
+
+                final int done = completed.incrementAndGet();
+                final RevokeProgressListener listener = settings.getProgressListener();
+                if (listener != null) {
+                    try {
+                        listener.onProgress(token, outcomes[index], done, total);
+                    } catch (RuntimeException e) {
+                        // the result must still list every token, so a failing listener can not abort the batch
+                        LOGGER.warn("Revoke progress listener failed.", e);
+                    }
+                }
+            }
+        });
+
+        final List<String> revoked = new ArrayList<>();
+        final List<String> notFound = new ArrayList<>();
+        final Map<String, VaultClientException> failed = new LinkedHashMap<>();
+        for (int i = 0; i < total; i++) {
+            if (outcomes[i] == Outcome.REVOKED) {
+                revoked.add(tokens.get(i));
+            } else if (outcomes[i] == Outcome.NOT_FOUND) {
+                notFound.add(tokens.get(i));
+            } else {
+                failed.put(tokens.get(i), errors[i]);
+            }
+        }
+        return new VaultRevokeTokensResult(revoked, notFound, failed);
+    }
+
+    /**
+     * Revokes a single token, retrying transient failures.
+     */
+    private Outcome revoke(final String token) {
+        final RetryPolicy retryPolicy = settings.getRetryPolicy();
+        for (int retry = 0; ; retry++) {
+            acquire();
+            try {
+                if (orphan) {
+                    vaultClient.revokeOrphanToken(token);
+                } else {
+                    vaultClient.revokeToken(token);
+                }
+                return Outcome.REVOKED;
+            } catch (VaultServerException e) {
+                if (e.getCode() == HttpStatus.NOT_FOUND) {
+                    return Outcome.NOT_FOUND;
+                }
+                if (retry >= retryPolicy.getMaxRetries()
+                        || !retryPolicy.getRetryableStatusCodes().contains(e.getCode())) {
+                    throw e;
+                }
+            } catch (VaultClientException e) {
+                if (retry >= retryPolicy.getMaxRetries() || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+            }
+
+            sleep(TimeUnit.MILLISECONDS.toNanos(retryPolicy.getDelayMillis(retry + 1)));
+        }
+    }
+
+    /**
+     * Waits for the next free slot when the rate is limited.
+     */
+    private void acquire() {
+        if (intervalNanos <= 0) {
+            return;
+        }
+
+        long slot;
+        while (true) {
+            final long next = nextSlotNanos.get();
+            slot = Math.max(next, System.nanoTime());
+            if (nextSlotNanos.compareAndSet(next, slot + intervalNanos)) {
+                break;
+            }
+        }
+        sleep(slot - System.nanoTime());
+    }
+
+    private static void sleep(final long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VaultClientException("Interrupted while revoking tokens.", e);
+        }
+    }
+}
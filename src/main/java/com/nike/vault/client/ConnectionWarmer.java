@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens connections to Vault ahead of time, and keeps them from going idle, so that requests do not pay for the TCP
+ * connect and TLS handshake.  Connections are opened with concurrent <code>HEAD sys/health</code> probes, which are
+ * cheap for Vault to answer.
+ * <p>
+ * The probes are made asynchronously, so no more connections are opened than the HTTP client's dispatcher allows
+ * requests per host.  Keeping connections warm runs a background thread until the warmer is closed.
+ * </p>
+ * <pre>
+ *     final ConnectionWarmer connectionWarmer = new ConnectionWarmer(vaultClient);
+ *     connectionWarmer.warmUp(4);
+ *     connectionWarmer.keepWarm(4, 1, TimeUnit.MINUTES);
+ *     ...
+ *     connectionWarmer.close();
+ * </pre>
+ */
+public class ConnectionWarmer implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionWarmer.class);
+
+    private static final String HEALTH_PATH = "v1/sys/health";
+
+    private final VaultClient vaultClient;
+
+    private final ScheduledExecutorService scheduler;
+
+    private ScheduledFuture<?> keepWarmTask;
+
+    /**
+     * Constructor that takes the client whose connection pool is warmed.
+     *
+     * @param vaultClient Vault client
+     */
+    public ConnectionWarmer(final VaultClient vaultClient) {
+        if (vaultClient == null) {
+            throw new IllegalArgumentException("Vault client can not be null.");
+        }
+
+        this.vaultClient = vaultClient;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("vault-connection-warmer"));
+    }
+
+    /**
+     * Sends the number of concurrent probes to Vault and waits for them to complete, for at most the HTTP client's
+     * connect and read timeouts.  Failures are logged, not thrown.
+     *
+     * @param connections Number of connections to open
+     * @return Number of connections in the pool afterwards
+     */
+    public int warmUp(final int connections) {
+        if (connections <= 0) {
+            throw new IllegalArgumentException("Connections must be greater than zero.");
+        }
+
+        final OkHttpClient httpClient = vaultClient.getHttpClient();
+        final CountDownLatch probes = new CountDownLatch(connections);
+
+        try {
+            final Request request = new Request.Builder()
+                    .url(vaultClient.buildUrl("", HEALTH_PATH))
+                    .head()
+                    .build();
+
+            for (int i = 0; i < connections; i++) {
+                httpClient.newCall(request).enqueue(new Callback() {
+                    @Override
+                    public void onFailure(final Call call, final IOException e) {
+                        LOGGER.debug("Connection warm-up probe failed", e);
+                        probes.countDown();
+                    }
+
+                    @Override
+                    public void onResponse(final Call call, final Response response) {
+                        response.close();
+                        probes.countDown();
+                    }
+                });
+            }
+
+            probes.await(httpClient.connectTimeoutMillis() + httpClient.readTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (VaultClientException e) {
+            LOGGER.warn("Unable to warm up connections to Vault", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return httpClient.connectionPool().connectionCount();
+    }
+
+    /**
+     * Warms up the number of connections at a fixed interval, which pings idle connections and reopens evicted ones.
+     * The interval must be shorter than the keep alive duration of the connection pool, and of any load balancer in
+     * front of Vault.  Pings continue until the warmer is closed, or until this is called again, which replaces the
+     * earlier schedule.
+     *
+     * @param connections Number of connections to keep warm
+     * @param interval    Time between pings
+     * @param unit        Unit of the time
+     */
+    public synchronized void keepWarm(final int connections, final long interval, final TimeUnit unit) {
+        if (connections <= 0) {
+            throw new IllegalArgumentException("Connections must be greater than zero.");
+        }
+
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Keep warm interval must be greater than zero.");
+        }
+
+        if (keepWarmTask != null) {
+            keepWarmTask.cancel(false);
+        }
+
+        keepWarmTask = scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                warmUp(connections);
+            }
+        }, interval, interval, unit);
+    }
+
+    /**
+     * Stops keeping connections warm.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread factory for the background work of the client.  The threads are daemon threads, so they never keep the
+ * JVM from exiting.
+ */
+public class DaemonThreadFactory implements ThreadFactory {
+
+    private final String threadName;
+
+    /**
+     * @param threadName Name given to every thread created by the factory
+     */
+    public DaemonThreadFactory(final String threadName) {
+        if (threadName == null) {
+            throw new IllegalArgumentException("Thread name can not be null.");
+        }
+
+        this.threadName = threadName;
+    }
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, threadName);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
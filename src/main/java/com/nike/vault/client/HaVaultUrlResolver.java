@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.auth.AnonymousVaultCredentialsProvider;
+import com.nike.vault.client.auth.VaultCredentialsProvider;
+import com.nike.vault.client.model.VaultLeaderResponse;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * URL resolver for a Vault cluster running in high availability mode.  Given the addresses of the nodes in the
+ * cluster, it asks them for the current leader via <code>sys/leader</code> and resolves to the active node, so that
+ * requests are not forwarded or redirected by a standby.
+ * <p>
+ * The active node is cached until {@link #refresh()} is called.  The Vault client does so when a request fails
+ * to connect or is redirected by a standby node.
+ * </p>
+ */
+public class HaVaultUrlResolver implements RefreshableUrlResolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HaVaultUrlResolver.class);
+
+    private final List<String> nodeUrls;
+
+    private final List<VaultAdminClient> nodeClients = new ArrayList<>();
+
+    private final Object discoveryLock = new Object();
+
+    private volatile String activeUrl;
+
+    /**
+     * Explicit constructor that takes the URLs of the nodes in the cluster.
+     *
+     * @param nodeUrls URLs of the Vault nodes
+     */
+    public HaVaultUrlResolver(final List<String> nodeUrls) {
+        this(nodeUrls, VaultClientFactory.buildDefaultHttpClient());
+    }
+
+    /**
+     * Explicit constructor that takes the URLs of the nodes in the cluster and the HTTP client used for looking
+     * up the leader.
+     *
+     * @param nodeUrls   URLs of the Vault nodes
+     * @param httpClient HTTP client for calling the <code>sys/leader</code> endpoint of each node
+     */
+    public HaVaultUrlResolver(final List<String> nodeUrls, final OkHttpClient httpClient) {
+        if (nodeUrls == null || nodeUrls.isEmpty()) {
+            throw new IllegalArgumentException("No Vault node URLs specified.");
+        }
+
+        if (httpClient == null) {
+            throw new IllegalArgumentException("Http client can not be null.");
+        }
+
+        final VaultCredentialsProvider credentialsProvider = new AnonymousVaultCredentialsProvider();
+        for (final String nodeUrl : nodeUrls) {
+            if (StringUtils.isBlank(nodeUrl) || HttpUrl.parse(nodeUrl) == null) {
+                throw new IllegalArgumentException("Invalid Vault node URL: " + nodeUrl);
+            }
+
+            nodeClients.add(new VaultAdminClient(new StaticVaultUrlResolver(nodeUrl), credentialsProvider, httpClient));
+        }
+
+        this.nodeUrls = Collections.unmodifiableList(new ArrayList<>(nodeUrls));
+    }
+
+    /**
+     * Returns the URL of the active node, discovering it first if it is not already known.
+     *
+     * @throws VaultClientException If none of the nodes could report the active node
+     * @return Vault URL
+     */
+    @Override
+    public String resolve() {
+        String url = activeUrl;
+        if (url == null) {
+            synchronized (discoveryLock) {
+                url = activeUrl;
+                if (url == null) {
+                    url = discoverActiveUrl();
+                    activeUrl = url;
+                }
+            }
+        }
+        return url;
+    }
+
+    /**
+     * Discards the known active node so that it is discovered again on the next call to {@link #resolve()}.
+     */
+    @Override
+    public void refresh() {
+        activeUrl = null;
+    }
+
+    /**
+     * Returns the URLs of the nodes in the cluster.
+     *
+     * @return Vault node URLs
+     */
+    public List<String> getNodeUrls() {
+        return nodeUrls;
+    }
+
+    private String discoverActiveUrl() {
+        for (int i = 0; i < nodeUrls.size(); i++) {
+            final String nodeUrl = nodeUrls.get(i);
+            try {
+                final VaultLeaderResponse leader = nodeClients.get(i).leader();
+
+                if (!leader.isHaEnabled() || leader.isSelf()) {
+                    LOGGER.info("Resolved the active Vault node: {}", nodeUrl);
+                    return nodeUrl;
+                } else if (StringUtils.isNotBlank(leader.getLeaderAddress())) {
+                    final String leaderUrl = findNodeUrl(leader.getLeaderAddress());
+                    LOGGER.info("Resolved the active Vault node: {}, reported by: {}", leaderUrl, nodeUrl);
+                    return leaderUrl;
+                }
+
+                LOGGER.info("Vault node: {} does not know of a leader, moving on to the next node", nodeUrl);
+            } catch (VaultClientException vce) {
+                LOGGER.info("Failed to look up the leader from Vault node: {} for reason: {} moving on to the next node",
+                        nodeUrl, vce.getMessage());
+            }
+        }
+
+        throw new VaultClientException("Unable to discover the active node from any of the Vault nodes: " + nodeUrls);
+    }
+
+    /**
+     * Returns the configured node URL matching the leader address reported by Vault, or the leader address itself if
+     * none of the configured nodes match.
+     */
+    private String findNodeUrl(final String leaderAddress) {
+        final HttpUrl leaderUrl = HttpUrl.parse(leaderAddress);
+        if (leaderUrl == null) {
+            return leaderAddress;
+        }
+
+        for (final String nodeUrl : nodeUrls) {
+            final HttpUrl url = HttpUrl.parse(nodeUrl);
+            if (url.host().equalsIgnoreCase(leaderUrl.host()) && url.port() == leaderUrl.port()) {
+                return nodeUrl;
+            }
+        }
+        return leaderAddress;
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import okhttp3.Dns;
+import okhttp3.Protocol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.nike.vault.client.VaultClientFactory.DEFAULT_TIMEOUT;
+
+/**
+ * Settings for the HTTP client built by the {@link VaultClientFactory}.
+ */
+public class HttpClientSettings {
+
+    /**
+     * Default number of idle connections kept in the pool, the same as OkHttp's default.
+     */
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+
+    /**
+     * Default time an idle connection is kept in the pool, the same as OkHttp's default.
+     */
+    public static final long DEFAULT_KEEP_ALIVE_DURATION_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Default max requests in flight for asynchronous calls, the same as OkHttp's default.
+     */
+    public static final int DEFAULT_MAX_REQUESTS = 64;
+
+    /**
+     * Default max requests in flight per host for asynchronous calls, the same as OkHttp's default.
+     */
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+
+    /**
+     * Default number of TLS sessions kept in the shared session cache, the same as the JDK's default.
+     */
+    public static final int DEFAULT_TLS_SESSION_CACHE_SIZE = 20_480;
+
+    /**
+     * Default time TLS sessions are kept in the shared session cache, the same as the JDK's default.
+     */
+    public static final long DEFAULT_TLS_SESSION_TIMEOUT_SECONDS = TimeUnit.DAYS.toSeconds(1);
+
+    private int connectTimeoutMillis = DEFAULT_TIMEOUT;
+
+    private int readTimeoutMillis = DEFAULT_TIMEOUT;
+
+    private int writeTimeoutMillis = DEFAULT_TIMEOUT;
+
+    private int maxRequests = DEFAULT_MAX_REQUESTS;
+
+    private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+
+    private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+
+    private long keepAliveDurationMillis = DEFAULT_KEEP_ALIVE_DURATION_MILLIS;
+
+    private List<Protocol> protocols;
+
+    private boolean allowCleartext = true;
+
+    private Dns dns;
+
+    private boolean sharedTlsSessionCache;
+
+    private int tlsSessionCacheSize = DEFAULT_TLS_SESSION_CACHE_SIZE;
+
+    private long tlsSessionTimeoutSeconds = DEFAULT_TLS_SESSION_TIMEOUT_SECONDS;
+
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public HttpClientSettings setConnectTimeoutMillis(int connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        return this;
+    }
+
+    public int getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public HttpClientSettings setReadTimeoutMillis(int readTimeoutMillis) {
+        this.readTimeoutMillis = readTimeoutMillis;
+        return this;
+    }
+
+    public int getWriteTimeoutMillis() {
+        return writeTimeoutMillis;
+    }
+
+    public HttpClientSettings setWriteTimeoutMillis(int writeTimeoutMillis) {
+        this.writeTimeoutMillis = writeTimeoutMillis;
+        return this;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public HttpClientSettings setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+        return this;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public HttpClientSettings setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        return this;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public long getKeepAliveDurationMillis() {
+        return keepAliveDurationMillis;
+    }
+
+    /**
+     * Sets how many idle connections the pool keeps, and for how long, before evicting them.
+     *
+     * @param maxIdleConnections Max idle connections kept in the pool
+     * @param keepAliveDuration  Time an idle connection is kept in the pool
+     * @param unit               Unit of the time
+     * @return The settings
+     */
+    public HttpClientSettings setConnectionPool(int maxIdleConnections, long keepAliveDuration, TimeUnit unit) {
+        if (maxIdleConnections < 0 || keepAliveDuration <= 0) {
+            throw new IllegalArgumentException("Max idle connections can not be negative, and the keep alive "
+                    + "duration must be greater than zero.");
+        }
+        this.maxIdleConnections = maxIdleConnections;
+        this.keepAliveDurationMillis = unit.toMillis(keepAliveDuration);
+        return this;
+    }
+
+    /**
+     * Returns the protocols the HTTP client may use, or null for OkHttp's default of HTTP/2 and HTTP/1.1.
+     *
+     * @return Protocols
+     */
+    public List<Protocol> getProtocols() {
+        return protocols;
+    }
+
+    /**
+     * Sets the protocols the HTTP client may use.  The list must include HTTP/1.1.
+     *
+     * @param protocols Protocols in order of preference
+     * @return The settings
+     */
+    public HttpClientSettings setProtocols(List<Protocol> protocols) {
+        if (protocols == null || !protocols.contains(Protocol.HTTP_1_1)) {
+            throw new IllegalArgumentException("Protocols must include HTTP/1.1.");
+        }
+        this.protocols = Collections.unmodifiableList(new ArrayList<>(protocols));
+        return this;
+    }
+
+    /**
+     * Enables or disables HTTP/2.  With HTTP/2 enabled, HTTP/2 is negotiated with ALPN when connecting to Vault
+     * over TLS, and concurrent requests are multiplexed as streams over a single connection to each node.  The number
+     * of asynchronous requests, and so streams, per node is bound by the max requests per host.
+     *
+     * @param http2 True to enable HTTP/2, false to only use HTTP/1.1
+     * @return The settings
+     */
+    public HttpClientSettings setHttp2(boolean http2) {
+        return setProtocols(http2
+                ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                : Collections.singletonList(Protocol.HTTP_1_1));
+    }
+
+    public boolean isAllowCleartext() {
+        return allowCleartext;
+    }
+
+    /**
+     * Sets whether plain HTTP connections to Vault are allowed, which is useful for local testing.
+     *
+     * @param allowCleartext True to allow plain HTTP
+     * @return The settings
+     */
+    public HttpClientSettings setAllowCleartext(boolean allowCleartext) {
+        this.allowCleartext = allowCleartext;
+        return this;
+    }
+
+    public Dns getDns() {
+        return dns;
+    }
+
+    /**
+     * Sets the DNS resolver, such as a {@link com.nike.vault.client.http.CachingDns} shared between clients.  By
+     * default the system resolver is used.
+     *
+     * @param dns DNS resolver
+     * @return The settings
+     */
+    public HttpClientSettings setDns(Dns dns) {
+        this.dns = dns;
+        return this;
+    }
+
+    public boolean isSharedTlsSessionCache() {
+        return sharedTlsSessionCache;
+    }
+
+    public int getTlsSessionCacheSize() {
+        return tlsSessionCacheSize;
+    }
+
+    public long getTlsSessionTimeoutSeconds() {
+        return tlsSessionTimeoutSeconds;
+    }
+
+    /**
+     * Makes the HTTP client use the TLS context shared by all clients built by the factory with this setting, so
+     * that TLS sessions, including session tickets, are resumed across clients rather than each client doing a full
+     * handshake on every new connection.  The shared cache is process wide: its size and timeout are taken from the
+     * first client built with this setting, and the values of later clients are ignored.
+     *
+     * @param cacheSize Max number of sessions in the cache, zero for no limit
+     * @param timeout   Time sessions are kept in the cache
+     * @param unit      Unit of the time
+     * @return The settings
+     */
+    public HttpClientSettings setSharedTlsSessionCache(int cacheSize, long timeout, TimeUnit unit) {
+        if (cacheSize < 0 || timeout < 0) {
+            throw new IllegalArgumentException("TLS session cache size and timeout can not be negative.");
+        }
+        this.sharedTlsSessionCache = true;
+        this.tlsSessionCacheSize = cacheSize;
+        this.tlsSessionTimeoutSeconds = unit.toSeconds(timeout);
+        return this;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+/**
+ * {@link UrlResolver} implementation that asks another resolver for the URL once and returns it from memory after
+ * that, e.g. to avoid reading the environment and parsing the URL again with {@link DefaultVaultUrlResolver}.
+ * Call {@link #refresh()} to resolve it again.
+ */
+public class MemoizingUrlResolver implements RefreshableUrlResolver {
+
+    private final UrlResolver delegate;
+
+    private volatile String url;
+
+    /**
+     * Explicit constructor that takes the resolver to memoize.
+     *
+     * @param delegate Resolver of the URL
+     */
+    public MemoizingUrlResolver(final UrlResolver delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate URL resolver can not be null.");
+        }
+
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the memoized URL, asking the delegate for it if there is none yet.
+     *
+     * @return Vault URL
+     */
+    @Override
+    public String resolve() {
+        String current = url;
+        if (current == null) {
+            current = delegate.resolve();
+            url = current;
+        }
+        return current;
+    }
+
+    /**
+     * Discards the memoized URL, so the next call to {@link #resolve()} asks the delegate again.
+     */
+    @Override
+    public void refresh() {
+        url = null;
+        if (delegate instanceof RefreshableUrlResolver) {
+            ((RefreshableUrlResolver) delegate).refresh();
+        }
+    }
+}
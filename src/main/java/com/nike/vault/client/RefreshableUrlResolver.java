@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+/**
+ * Interface for URL resolvers that cache the URL they resolve and can be told to discard it, e.g. when the
+ * Vault client can no longer reach the node the URL points to.
+ */
+public interface RefreshableUrlResolver extends UrlResolver {
+
+    /**
+     * Discards any cached URL so that the next call to {@link #resolve()} resolves it again.
+     */
+    void refresh();
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.http.HedgingPolicy;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executes requests with hedging, as configured by a {@link HedgingPolicy}.
+ */
+final class RequestHedger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestHedger.class);
+
+    /**
+     * Number of response times needed before the hedging delay is calculated from them.
+     */
+    private static final int MIN_SAMPLES = 20;
+
+    private final HedgingPolicy policy;
+
+    private final long[] samples;
+
+    private int nextSample;
+
+    private int sampleCount;
+
+    private int samplesSinceUpdate;
+
+    private volatile long delayNanos;
+
+    private double budget;
+
+    RequestHedger(final HedgingPolicy policy) {
+        this.policy = policy;
+        this.samples = new long[policy.getSampleSize()];
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(policy.getMaxDelayMillis());
+        this.budget = policy.getHedgingBudgetBurst();
+    }
+
+    /**
+     * Executes the request, sending a second request if no response arrives by the hedging delay.
+     *
+     * @param httpClient HTTP client to execute the requests with
+     * @param request    The request, which must be idempotent
+     * @return The first response to arrive
+     * @throws IOException If all requests failed
+     */
+    Response execute(final OkHttpClient httpClient, final Request request) throws IOException {
+        final long start = System.nanoTime();
+        final BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+        final AtomicBoolean answered = new AtomicBoolean();
+        final List<Call> calls = new ArrayList<>(2);
+        deposit();
+
+        calls.add(enqueue(httpClient, request, outcomes, answered));
+        int pending = 1;
+        boolean hedged = false;
+        IOException failure = null;
+        Call winner = null;
+
+        try {
+            while (pending > 0) {
+                final Outcome outcome = hedged ? outcomes.take() : outcomes.poll(delayNanos, TimeUnit.NANOSECONDS);
+
+                if (outcome == null) {
+                    hedged = true;
+                    if (withdraw()) {
+                        LOGGER.debug("No response after {}ms, hedging request: {} {}",
+                                TimeUnit.NANOSECONDS.toMillis(delayNanos), request.method(),
+                                request.url().encodedPath());
+                        calls.add(enqueue(httpClient, request, outcomes, answered));
+                        pending++;
+                    }
+                } else if (outcome.response != null) {
+                    winner = outcome.call;
+                    recordLatency(System.nanoTime() - start);
+                    return outcome.response;
+                } else {
+                    failure = outcome.failure;
+                    pending--;
+                }
+            }
+        } catch (InterruptedException e) {
+            for (final Outcome outcome : outcomes) {
+                if (outcome.response != null) {
+                    outcome.response.close();
+                }
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a response.");
+        } finally {
+            for (final Call call : calls) {
+                if (call != winner) {
+                    call.cancel();
+                }
+            }
+        }
+
+        throw failure;
+    }
+
+    private static Call enqueue(final OkHttpClient httpClient,
+                                final Request request,
+                                final BlockingQueue<Outcome> outcomes,
+                                final AtomicBoolean answered) {
+        final Call call = httpClient.newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(final Call call, final IOException e) {
+                outcomes.add(new Outcome(call, null, e));
+            }
+
+            @Override
+            public void onResponse(final Call call, final Response response) {
+                if (answered.compareAndSet(false, true)) {
+                    outcomes.add(new Outcome(call, response, null));
+                } else {
+                    response.close();
+                }
+            }
+        });
+        return call;
+    }
+
+    /**
+     * Records the response time and recalculates the hedging delay every tenth of the sample size.
+     */
+    private synchronized void recordLatency(final long latencyNanos) {
+        samples[nextSample] = latencyNanos;
+        nextSample = (nextSample + 1) % samples.length;
+        sampleCount = Math.min(sampleCount + 1, samples.length);
+
+        samplesSinceUpdate++;
+
+        if (sampleCount >= Math.min(MIN_SAMPLES, samples.length)
+                && samplesSinceUpdate >= Math.max(1, samples.length / 10)) {
+            samplesSinceUpdate = 0;
+
+            final long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            final long percentile = sorted[Math.min(sorted.length - 1, (int) (policy.getPercentile() * sorted.length))];
+            delayNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(policy.getMinDelayMillis()),
+                    Math.min(TimeUnit.MILLISECONDS.toNanos(policy.getMaxDelayMillis()), percentile));
+        }
+    }
+
+    long getDelayNanos() {
+        return delayNanos;
+    }
+
+    private synchronized void deposit() {
+        budget = Math.min(budget + policy.getHedgingBudgetRatio(), policy.getHedgingBudgetBurst());
+    }
+
+    private synchronized boolean withdraw() {
+        if (budget >= 1) {
+            budget--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Response or failure of one of the requests.
+     */
+    private static final class Outcome {
+
+        private final Call call;
+
+        private final Response response;
+
+        private final IOException failure;
+
+        private Outcome(final Call call, final Response response, final IOException failure) {
+            this.call = call;
+            this.response = response;
+            this.failure = failure;
+        }
+    }
+}
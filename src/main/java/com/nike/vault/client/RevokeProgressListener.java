@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.model.VaultRevokeTokensResult;
+
+/**
+ * Listener notified as each token of a bulk revoke is done with, for reporting progress.  It is called from the
+ * threads revoking the tokens, so it must be thread safe.
+ */
+public interface RevokeProgressListener {
+
+    /**
+     * Called once a token has been revoked, found to be gone or failed to be revoked, after any retries.
+     *
+     * @param token     The token
+     * @param outcome   The outcome for the token
+     * @param completed Number of tokens done with so far
+     * @param total     Number of tokens in the batch
+     */
+    void onProgress(String token, VaultRevokeTokensResult.Outcome outcome, int completed, int total);
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.auth.AnonymousVaultCredentialsProvider;
+import com.nike.vault.client.auth.VaultCredentialsProvider;
+import com.nike.vault.client.http.HttpMethod;
+import com.nike.vault.client.model.VaultHealthResponse;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP client interceptor that spreads secret reads and lists across the healthy standby nodes of a Vault cluster,
+ * such as Vault Enterprise performance standbys.  All other requests, including writes, are sent to the URL the
+ * Vault client resolved, which should be the active node.
+ * <p>
+ * The health of each node is polled from <code>sys/health</code> once {@link #start()} is called.  Each read goes
+ * to the healthy standby with the fewest outstanding requests, with ties going to the node with the lowest average
+ * response time.  If no standby is healthy, or the chosen standby fails, the read is sent to the active node.
+ * </p>
+ * <pre>
+ *     final StandbyReadBalancer balancer = new StandbyReadBalancer(standbyNodeUrls);
+ *     balancer.start();
+ *     final OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(balancer).build();
+ * </pre>
+ */
+public class StandbyReadBalancer implements Interceptor, Closeable {
+
+    public static final long DEFAULT_HEALTH_CHECK_INTERVAL = 10;
+
+    public static final TimeUnit DEFAULT_HEALTH_CHECK_INTERVAL_UNIT = TimeUnit.SECONDS;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StandbyReadBalancer.class);
+
+    private static final String API_VERSION_SEGMENT = "v1";
+
+    private static final String SECRET_SEGMENT = "secret";
+
+    /**
+     * Weight given to the latest response time in the moving average kept for each node.
+     */
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    private final long healthCheckInterval;
+
+    private final TimeUnit healthCheckIntervalUnit;
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Explicit constructor that takes the URLs of the nodes to balance reads across, using the default health check
+     * interval.
+     *
+     * @param nodeUrls URLs of the Vault nodes
+     */
+    public StandbyReadBalancer(final List<String> nodeUrls) {
+        this(nodeUrls,
+                VaultClientFactory.buildDefaultHttpClient(),
+                DEFAULT_HEALTH_CHECK_INTERVAL,
+                DEFAULT_HEALTH_CHECK_INTERVAL_UNIT);
+    }
+
+    /**
+     * Explicit constructor that allows for full control over the health checks.
+     *
+     * @param nodeUrls                URLs of the Vault nodes
+     * @param healthCheckClient       HTTP client for calling the <code>sys/health</code> endpoint of each node, this
+     *                                must not be the client this interceptor is added to
+     * @param healthCheckInterval     Time between health checks
+     * @param healthCheckIntervalUnit Unit of the time between health checks
+     */
+    public StandbyReadBalancer(final List<String> nodeUrls,
+                               final OkHttpClient healthCheckClient,
+                               final long healthCheckInterval,
+                               final TimeUnit healthCheckIntervalUnit) {
+        if (nodeUrls == null || nodeUrls.isEmpty()) {
+            throw new IllegalArgumentException("No Vault node URLs specified.");
+        }
+
+        if (healthCheckClient == null) {
+            throw new IllegalArgumentException("Health check client can not be null.");
+        }
+
+        if (healthCheckInterval <= 0 || healthCheckIntervalUnit == null) {
+            throw new IllegalArgumentException("Health check interval must be greater than zero.");
+        }
+
+        final VaultCredentialsProvider credentialsProvider = new AnonymousVaultCredentialsProvider();
+        for (final String nodeUrl : nodeUrls) {
+            final HttpUrl url = StringUtils.isBlank(nodeUrl) ? null : HttpUrl.parse(nodeUrl);
+            if (url == null) {
+                throw new IllegalArgumentException("Invalid Vault node URL: " + nodeUrl);
+            }
+
+            nodes.add(new Node(nodeUrl, url,
+                    new VaultAdminClient(new StaticVaultUrlResolver(nodeUrl), credentialsProvider, healthCheckClient)));
+        }
+
+        this.healthCheckInterval = healthCheckInterval;
+        this.healthCheckIntervalUnit = healthCheckIntervalUnit;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("vault-health-check"));
+    }
+
+    /**
+     * Checks the health of the nodes and schedules the health checks to repeat at the configured interval.
+     */
+    public void start() {
+        checkHealth();
+        scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                checkHealth();
+            }
+        }, healthCheckInterval, healthCheckInterval, healthCheckIntervalUnit);
+    }
+
+    /**
+     * Stops the health checks.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Checks the health of every node.  A node is used for reads if it is initialized, unsealed and a performance
+     * standby.  Plain HA standbys are not used, as they forward or redirect reads to the active node.
+     */
+    public void checkHealth() {
+        for (final Node node : nodes) {
+            try {
+                final VaultHealthResponse health = node.client.health();
+                node.healthy = health.isInitialized() && !health.isSealed() && health.isPerformanceStandby();
+            } catch (RuntimeException e) {
+                LOGGER.debug("Health check failed for Vault node: {}", node.nodeUrl, e);
+                node.healthy = false;
+            }
+        }
+    }
+
+    /**
+     * Returns the URLs of the nodes currently used for reads.
+     *
+     * @return Vault node URLs
+     */
+    public List<String> getHealthyNodeUrls() {
+        final List<String> healthyNodeUrls = new ArrayList<>();
+        for (final Node node : nodes) {
+            if (node.healthy) {
+                healthyNodeUrls.add(node.nodeUrl);
+            }
+        }
+        return Collections.unmodifiableList(healthyNodeUrls);
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final Node node = isRead(request) ? selectNode() : null;
+
+        if (node == null) {
+            return chain.proceed(request);
+        }
+
+        node.outstanding.incrementAndGet();
+        final long start = System.nanoTime();
+        try {
+            final Response response = chain.proceed(request.newBuilder().url(node.rebase(request.url())).build());
+            node.recordLatency(System.nanoTime() - start);
+
+            if (response.code() < 500) {
+                return response;
+            }
+
+            response.close();
+            LOGGER.warn("Vault node: {} returned {}, sending the read to the active node", node.nodeUrl,
+                    response.code());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read from Vault node: {}, sending the read to the active node", node.nodeUrl, e);
+        } finally {
+            node.outstanding.decrementAndGet();
+        }
+
+        node.healthy = false;
+        return chain.proceed(request);
+    }
+
+    private Node selectNode() {
+        Node selected = null;
+        for (final Node node : nodes) {
+            if (node.healthy && (selected == null || node.isLessLoadedThan(selected))) {
+                selected = node;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns true for requests that read or list secrets.
+     */
+    private static boolean isRead(final Request request) {
+        if (!HttpMethod.GET.equals(request.method())) {
+            return false;
+        }
+
+        final List<String> segments = request.url().pathSegments();
+        for (int i = 0; i < segments.size() - 1; i++) {
+            if (API_VERSION_SEGMENT.equals(segments.get(i)) && SECRET_SEGMENT.equals(segments.get(i + 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+
+        private final String nodeUrl;
+
+        private final HttpUrl url;
+
+        private final VaultAdminClient client;
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private volatile boolean healthy;
+
+        private volatile double averageLatencyNanos;
+
+        private Node(final String nodeUrl, final HttpUrl url, final VaultAdminClient client) {
+            this.nodeUrl = nodeUrl;
+            this.url = url;
+            this.client = client;
+        }
+
+        private boolean isLessLoadedThan(final Node other) {
+            final int requests = outstanding.get();
+            final int otherRequests = other.outstanding.get();
+            return requests < otherRequests
+                    || (requests == otherRequests && averageLatencyNanos < other.averageLatencyNanos);
+        }
+
+        private void recordLatency(final long latencyNanos) {
+            final double average = averageLatencyNanos;
+            averageLatencyNanos = average == 0 ? latencyNanos : average + LATENCY_WEIGHT * (latencyNanos - average);
+        }
+
+        private HttpUrl rebase(final HttpUrl requestUrl) {
+            return requestUrl.newBuilder()
+                    .scheme(url.scheme())
+                    .host(url.host())
+                    .port(url.port())
+                    .build();
+        }
+    }
+}
@@ -17,16 +17,20 @@
 package com.nike.vault.client;
 
 import com.google.gson.reflect.TypeToken;
+import com.nike.vault.client.auth.VaultCredentials;
 import com.nike.vault.client.auth.VaultCredentialsProvider;
 import com.nike.vault.client.http.HttpMethod;
 import com.nike.vault.client.http.HttpStatus;
 import com.nike.vault.client.model.VaultAuthResponse;
 import com.nike.vault.client.model.VaultClientTokenResponse;
+import com.nike.vault.client.model.VaultCreateTokenResult;
 import com.nike.vault.client.model.VaultEnableAuditBackendRequest;
 import com.nike.vault.client.model.VaultHealthResponse;
 import com.nike.vault.client.model.VaultInitResponse;
+import com.nike.vault.client.model.VaultLeaderResponse;
 import com.nike.vault.client.model.VaultPolicy;
 import com.nike.vault.client.model.VaultRevokeTokenRequest;
+import com.nike.vault.client.model.VaultRevokeTokensResult;
 import com.nike.vault.client.model.VaultSealStatusResponse;
 import com.nike.vault.client.model.VaultTokenAuthRequest;
 import com.nike.vault.client.model.VaultUnsealRequest;
@@ -36,8 +40,10 @@ import okhttp3.OkHttpClient;
 import okhttp3.Response;
 
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -46,6 +52,11 @@ import java.util.Set;
  */
 public class VaultAdminClient extends VaultClient {
 
+    /**
+     * Default max number of requests in flight at a time for batch operations.
+     */
+    public static final int DEFAULT_BATCH_CONCURRENCY = 8;
+
     private static final String SYS_PATH_PREFIX = "v1/sys/";
 
     private static final Set<Integer> HEALTH_RESPONSE_CODES = new HashSet<>();
@@ -54,6 +65,7 @@ public class VaultAdminClient extends VaultClient {
         HEALTH_RESPONSE_CODES.add(HttpStatus.OK);
         HEALTH_RESPONSE_CODES.add(HttpStatus.TOO_MANY_REQUESTS);
         HEALTH_RESPONSE_CODES.add(HttpStatus.INTERNAL_SERVER_ERROR);
+        HEALTH_RESPONSE_CODES.add(HttpStatus.PERFORMANCE_STANDBY);
     }
 
     /**
@@ -84,6 +96,33 @@ public class VaultAdminClient extends VaultClient {
         super(vaultUrlResolver, credentialsProvider, httpClient, defaultHeaders);
     }
 
+    /**
+     * Constructor for a view of another Vault admin client that uses different credentials.
+     *
+     * @param vaultClient         Vault admin client to share the transport of
+     * @param credentialsProvider Credential provider for acquiring a token for interacting with Vault
+     * @see VaultClient#VaultClient(VaultClient, VaultCredentialsProvider)
+     */
+    protected VaultAdminClient(final VaultAdminClient vaultClient,
+                               final VaultCredentialsProvider credentialsProvider) {
+        super(vaultClient, credentialsProvider);
+    }
+
+    @Override
+    public VaultAdminClient withCredentials(final VaultCredentialsProvider credentialsProvider) {
+        return new VaultAdminClient(this, credentialsProvider);
+    }
+
+    @Override
+    public VaultAdminClient withCredentials(final VaultCredentials credentials) {
+        return (VaultAdminClient) super.withCredentials(credentials);
+    }
+
+    @Override
+    public VaultAdminClient withToken(final String token) {
+        return (VaultAdminClient) super.withToken(token);
+    }
+
     /**
      * Initializes a new Vault. The Vault must've not been previously initialized.
      *
@@ -125,6 +164,22 @@ public class VaultAdminClient extends VaultClient {
         return parseResponseBody(response, VaultHealthResponse.class);
     }
 
+    /**
+     * Returns the high availability status and current leader of the Vault cluster.
+     *
+     * @return Object including whether HA is enabled, whether the called node is the leader and the leader address
+     */
+    public VaultLeaderResponse leader() {
+        final HttpUrl url = buildUrl(SYS_PATH_PREFIX, "leader");
+        final Response response = execute(url, HttpMethod.GET, null);
+
+        if (response.code() != HttpStatus.OK) {
+            parseAndThrowErrorResponse(response);
+        }
+
+        return parseResponseBody(response, VaultLeaderResponse.class);
+    }
+
     /**
      * Enter a single master key share to progress the unsealing of the Vault. If the threshold number of master key
      * shares is reached, Vault will attempt to unseal the Vault. Otherwise, this API must be called multiple times
@@ -231,10 +286,7 @@ public class VaultAdminClient extends VaultClient {
             parseAndThrowErrorResponse(response);
         }
 
-        final Type mapType = new TypeToken<Map<String, Object>>() {
-        }.getType();
-        final Map<String, Object> authData = parseResponseBody(response, mapType);
-        return getGson().fromJson(getGson().toJson(authData.get("auth")), VaultAuthResponse.class);
+        return parseResponseField(response, AUTH_FIELD, VaultAuthResponse.class);
     }
 
     /**
@@ -252,10 +304,70 @@ public class VaultAdminClient extends VaultClient {
             parseAndThrowErrorResponse(response);
         }
 
-        final Type mapType = new TypeToken<Map<String, Object>>() {
-        }.getType();
-        final Map<String, Object> authData = parseResponseBody(response, mapType);
-        return getGson().fromJson(getGson().toJson(authData.get("auth")), VaultAuthResponse.class);
+        return parseResponseField(response, AUTH_FIELD, VaultAuthResponse.class);
+    }
+
+    /**
+     * Creates a batch of tokens, with up to {@link #DEFAULT_BATCH_CONCURRENCY} requests in flight at a time.
+     *
+     * @param requests Request objects with optional parameters
+     * @return Results in the order of the requests
+     * @see #createTokens(List, int)
+     */
+    public List<VaultCreateTokenResult> createTokens(final List<VaultTokenAuthRequest> requests) {
+        return createTokens(requests, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    /**
+     * Creates a batch of tokens, sending the requests in parallel.  A failure to create one token does not stop
+     * the others from being created, it is reported in that token's result instead.
+     *
+     * @param requests    Request objects with optional parameters
+     * @param concurrency Max number of requests in flight at a time
+     * @return Results in the order of the requests
+     */
+    public List<VaultCreateTokenResult> createTokens(final List<VaultTokenAuthRequest> requests,
+                                                     final int concurrency) {
+        return createTokens(requests, concurrency, false);
+    }
+
+    /**
+     * Creates a batch of orphan tokens, sending the requests in parallel.  A failure to create one token does not
+     * stop the others from being created, it is reported in that token's result instead.
+     *
+     * @param requests    Request objects with optional parameters
+     * @param concurrency Max number of requests in flight at a time
+     * @return Results in the order of the requests
+     */
+    public List<VaultCreateTokenResult> createOrphanTokens(final List<VaultTokenAuthRequest> requests,
+                                                           final int concurrency) {
+        return createTokens(requests, concurrency, true);
+    }
+
+    private List<VaultCreateTokenResult> createTokens(final List<VaultTokenAuthRequest> requests,
+                                                      final int concurrency,
+                                                      final boolean orphan) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests can not be null.");
+        }
+
+        final VaultCreateTokenResult[] results = new VaultCreateTokenResult[requests.size()];
+        BatchRunner.run(requests.size(), concurrency, "vault-create-token", new BatchRunner.Task() {
+            @Override
+            public void run(final int index) {
+                final VaultTokenAuthRequest request = requests.get(index);
+                try {
+                    final VaultAuthResponse auth = orphan ? createOrphanToken(request) : createToken(request);
+                    results[index] = new VaultCreateTokenResult(request, auth, null);
+                } catch (VaultClientException e) {
+                    results[index] = new VaultCreateTokenResult(request, null, e);
+                } catch (RuntimeException e) {
+                    results[index] = new VaultCreateTokenResult(request, null,
+                            new VaultClientException("Unexpected error while creating the token.", e));
+                }
+            }
+        });
+        return Arrays.asList(results);
     }
 
     /**
@@ -288,6 +400,57 @@ public class VaultAdminClient extends VaultClient {
         }
     }
 
+    /**
+     * Revokes a batch of tokens and their child tokens, with the default bulk revoke settings.
+     *
+     * @param tokens Tokens to revoke
+     * @return The revoked, not found and failed tokens
+     * @see #revokeTokens(List, BulkRevokeSettings)
+     */
+    public VaultRevokeTokensResult revokeTokens(final List<String> tokens) {
+        return revokeTokens(tokens, new BulkRevokeSettings());
+    }
+
+    /**
+     * Revokes a batch of tokens and their child tokens, sending the requests in parallel.  I/O errors and
+     * responses with a retryable status code are retried.  Tokens Vault responds to with a 404 are reported as not
+     * found, rather than failed.
+     *
+     * @param tokens   Tokens to revoke
+     * @param settings Concurrency, rate limit, retries and progress listener
+     * @return The revoked, not found and failed tokens
+     */
+    public VaultRevokeTokensResult revokeTokens(final List<String> tokens, final BulkRevokeSettings settings) {
+        return revokeTokens(tokens, settings, false);
+    }
+
+    /**
+     * Revokes a batch of tokens but not their child tokens, sending the requests in parallel.  This is a
+     * root-protected endpoint.
+     *
+     * @param tokens   Tokens to revoke
+     * @param settings Concurrency, rate limit, retries and progress listener
+     * @return The revoked, not found and failed tokens
+     * @see #revokeTokens(List, BulkRevokeSettings)
+     */
+    public VaultRevokeTokensResult revokeOrphanTokens(final List<String> tokens, final BulkRevokeSettings settings) {
+        return revokeTokens(tokens, settings, true);
+    }
+
+    private VaultRevokeTokensResult revokeTokens(final List<String> tokens,
+                                                 final BulkRevokeSettings settings,
+                                                 final boolean orphan) {
+        if (tokens == null) {
+            throw new IllegalArgumentException("Tokens can not be null.");
+        }
+
+        if (settings == null) {
+            throw new IllegalArgumentException("Settings can not be null.");
+        }
+
+        return new BulkTokenRevoker(this, settings, orphan).revoke(tokens);
+    }
+
     /**
      * Lookup up the specified token and return details about it.
      *
@@ -302,10 +465,7 @@ public class VaultAdminClient extends VaultClient {
             parseAndThrowErrorResponse(response);
         }
 
-        final Type mapType = new TypeToken<Map<String, Object>>() {
-        }.getType();
-        final Map<String, Object> rootData = parseResponseBody(response, mapType);
-        return getGson().fromJson(getGson().toJson(rootData.get("data")), VaultClientTokenResponse.class);
+        return parseResponseField(response, DATA_FIELD, VaultClientTokenResponse.class);
     }
 
     /**
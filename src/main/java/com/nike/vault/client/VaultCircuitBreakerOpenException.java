@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.http.CircuitBreakerOpenException;
+
+/**
+ * Thrown when a request fails fast because the circuit breaker for the Vault node is open.
+ */
+public class VaultCircuitBreakerOpenException extends VaultClientException {
+
+    /**
+     * Constructs the exception from the exception thrown by the circuit breaker.
+     *
+     * @param cause Exception thrown by the circuit breaker
+     */
+    public VaultCircuitBreakerOpenException(CircuitBreakerOpenException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    /**
+     * Returns the Vault node whose circuit is open.
+     *
+     * @return Vault node, as scheme, host and port
+     */
+    public String getNode() {
+        return ((CircuitBreakerOpenException) getCause()).getNode();
+    }
+}
@@ -19,15 +19,30 @@ package com.nike.vault.client;
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import com.nike.vault.client.auth.RefreshableVaultCredentialsProvider;
+import com.nike.vault.client.auth.TokenVaultCredentials;
+import com.nike.vault.client.auth.VaultCredentials;
 import com.nike.vault.client.auth.VaultCredentialsProvider;
+import com.nike.vault.client.http.CircuitBreakerOpenException;
+import com.nike.vault.client.http.HedgingPolicy;
 import com.nike.vault.client.http.HttpHeader;
 import com.nike.vault.client.http.HttpMethod;
 import com.nike.vault.client.http.HttpStatus;
+import com.nike.vault.client.http.RequestRejectedException;
+import com.nike.vault.client.model.VaultAuthResponse;
 import com.nike.vault.client.model.VaultClientTokenResponse;
 import com.nike.vault.client.model.VaultListResponse;
+import com.nike.vault.client.model.VaultRenewTokenRequest;
 import com.nike.vault.client.model.VaultResponse;
+import com.nike.vault.client.model.VaultSecretResponse;
+import com.nike.vault.client.model.VaultSecretValue;
 import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
@@ -35,16 +50,28 @@ import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.Okio;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.net.ssl.SSLException;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Client for interacting with a Vault.
@@ -57,6 +84,26 @@ public class VaultClient {
 
     public static final MediaType DEFAULT_MEDIA_TYPE = MediaType.parse("application/json; charset=utf-8");
 
+    protected static final String DATA_FIELD = "data";
+
+    protected static final String AUTH_FIELD = "auth";
+
+    /**
+     * Maximum number of bytes of an error response body that will be read.
+     */
+    protected static final long MAX_ERROR_BODY_BYTES = 16 * 1024;
+
+    private static final String ERRORS_FIELD = "errors";
+
+    private static final String LIST_PARAMETER = "list";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Minimum time between re-authentications on a 403, so requests denied by policy do not each cause a login.
+     */
+    private static final long MIN_REAUTHENTICATION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final VaultCredentialsProvider credentialsProvider;
 
     private final OkHttpClient httpClient;
@@ -65,10 +112,17 @@ public class VaultClient {
 
     private final Headers defaultHeaders;
 
-    private final Gson gson = new GsonBuilder()
-            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
-            .disableHtmlEscaping()
-            .create();
+    private final SharedState sharedState;
+
+    private volatile boolean reauthenticateOnForbidden;
+
+    private final Object reauthenticationLock = new Object();
+
+    private long lastReauthenticatedAtNanos = System.nanoTime() - MIN_REAUTHENTICATION_INTERVAL_NANOS;
+
+    private final Gson gson;
+
+    private final ConcurrentMap<Type, TypeAdapter<?>> typeAdapters;
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -96,6 +150,9 @@ public class VaultClient {
         this.credentialsProvider = credentialsProvider;
         this.httpClient = httpClient;
         this.defaultHeaders = defaultHeaders;
+        this.gson = createGson();
+        this.typeAdapters = new ConcurrentHashMap<>();
+        this.sharedState = new SharedState();
     }
 
     /**
@@ -124,6 +181,83 @@ public class VaultClient {
         this.credentialsProvider = credentialsProvider;
         this.httpClient = httpClient;
         this.defaultHeaders = new Headers.Builder().build();
+        this.gson = createGson();
+        this.typeAdapters = new ConcurrentHashMap<>();
+        this.sharedState = new SharedState();
+    }
+
+    /**
+     * Constructor for a view of another Vault client that uses different credentials.  The view shares the other
+     * client's URL resolver, HTTP client, default headers, JSON codec, resolved Vault URL and hedging, so creating
+     * one is cheap, and a URL refreshed or a hedging policy set through any of them applies to all of them.
+     *
+     * @param vaultClient         Vault client to share the transport of
+     * @param credentialsProvider Credential provider for acquiring a token for interacting with Vault
+     */
+    protected VaultClient(final VaultClient vaultClient, final VaultCredentialsProvider credentialsProvider) {
+        if (vaultClient == null) {
+            throw new IllegalArgumentException("Vault client can not be null.");
+        }
+
+        if (credentialsProvider == null) {
+            throw new IllegalArgumentException("Credentials provider can not be null.");
+        }
+
+        this.urlResolver = vaultClient.urlResolver;
+        this.credentialsProvider = credentialsProvider;
+        this.httpClient = vaultClient.httpClient;
+        this.defaultHeaders = vaultClient.defaultHeaders;
+        this.gson = vaultClient.gson;
+        this.typeAdapters = vaultClient.typeAdapters;
+        this.sharedState = vaultClient.sharedState;
+        this.reauthenticateOnForbidden = vaultClient.reauthenticateOnForbidden;
+    }
+
+    /**
+     * Returns a view of this client that calls Vault with the token from another credentials provider, e.g. for
+     * acting on behalf of one of many tenants.  The view shares this client's connection pool, dispatcher and JSON
+     * codec, so any number of views can be created without opening more connections.
+     *
+     * @param credentialsProvider Credential provider for acquiring a token for interacting with Vault
+     * @return Vault client using the credentials provider
+     */
+    public VaultClient withCredentials(final VaultCredentialsProvider credentialsProvider) {
+        return new VaultClient(this, credentialsProvider);
+    }
+
+    /**
+     * Returns a view of this client that calls Vault with the specified credentials.
+     *
+     * @param credentials Credentials for interacting with Vault
+     * @return Vault client using the credentials
+     * @see #withCredentials(VaultCredentialsProvider)
+     */
+    public VaultClient withCredentials(final VaultCredentials credentials) {
+        if (credentials == null) {
+            throw new IllegalArgumentException("Credentials can not be null.");
+        }
+
+        return withCredentials(new VaultCredentialsProvider() {
+            @Override
+            public VaultCredentials getCredentials() {
+                return credentials;
+            }
+        });
+    }
+
+    /**
+     * Returns a view of this client that calls Vault with the specified token.
+     *
+     * @param token Token for interacting with Vault
+     * @return Vault client using the token
+     * @see #withCredentials(VaultCredentialsProvider)
+     */
+    public VaultClient withToken(final String token) {
+        if (StringUtils.isBlank(token)) {
+            throw new IllegalArgumentException("Token can not be blank.");
+        }
+
+        return withCredentials(new TokenVaultCredentials(token));
     }
 
 
@@ -140,7 +274,9 @@ public class VaultClient {
      * @return Map containing the keys at that path
      */
     public VaultListResponse list(final String path) {
-        final HttpUrl url = buildUrl(SECRET_PATH_PREFIX, path + "?list=true");
+        final HttpUrl url = newUrlBuilder(SECRET_PATH_PREFIX, path)
+                .addQueryParameter(LIST_PARAMETER, "true")
+                .build();
         logger.debug("list: requestUrl={}", url);
 
         final Response response = execute(url, HttpMethod.GET, null);
@@ -152,10 +288,7 @@ public class VaultClient {
             parseAndThrowErrorResponse(response);
         }
 
-        final Type mapType = new TypeToken<Map<String, Object>>() {
-        }.getType();
-        final Map<String, Object> rootData = parseResponseBody(response, mapType);
-        return gson.fromJson(gson.toJson(rootData.get("data")), VaultListResponse.class);
+        return parseResponseField(response, DATA_FIELD, VaultListResponse.class);
     }
 
     /**
@@ -180,6 +313,203 @@ public class VaultClient {
         return parseResponseBody(response, VaultResponse.class);
     }
 
+    /**
+     * Read operation for a specified path that binds the data stored at the path directly to the specified class.
+     * Unlike {@link #read(String)}, the data may contain any JSON value, not just strings.  If Vault returns an
+     * unexpected response code, a {@link VaultServerException} will be thrown with the code and error details.
+     * If an unexpected I/O error is encountered, a {@link VaultClientException} will be thrown wrapping the
+     * underlying exception.
+     *
+     * @param path Path to the data
+     * @param type The class to map the data to
+     * @param <T>  Represents the type to map to
+     * @return The data mapped to the specified class
+     */
+    public <T> T read(final String path, final Class<T> type) {
+        return read(path, (Type) type);
+    }
+
+    /**
+     * Read operation for a specified path that binds the data stored at the path directly to the specified type,
+     * e.g. one built with Gson's {@link TypeToken}.  See {@link #read(String, Class)} for details.
+     *
+     * @param path   Path to the data
+     * @param typeOf The type to map the data to
+     * @param <T>    Represents the type to map to
+     * @return The data mapped to the specified type
+     */
+    public <T> T read(final String path, final Type typeOf) {
+        final HttpUrl url = buildUrl(SECRET_PATH_PREFIX, path);
+        logger.debug("read: requestUrl={}, type={}", url, typeOf);
+
+        final Response response = execute(url, HttpMethod.GET, null);
+
+        if (response.code() != HttpStatus.OK) {
+            parseAndThrowErrorResponse(response);
+        }
+
+        return parseResponseField(response, DATA_FIELD, typeOf);
+    }
+
+    /**
+     * Reads each of the specified paths, in order, binding the data stored at each to the specified class.
+     * See {@link #read(String, Class)} for details.  The first failed read stops the operation.
+     *
+     * @param paths Paths to the data
+     * @param type  The class to map the data to
+     * @param <T>   Represents the type to map to
+     * @return Map of path to the data mapped to the specified class, in the order of the paths
+     */
+    public <T> Map<String, T> readAll(final Collection<String> paths, final Class<T> type) {
+        return readAll(paths, (Type) type);
+    }
+
+    /**
+     * Reads each of the specified paths, in order, binding the data stored at each to the specified type.
+     * See {@link #read(String, Type)} for details.  The first failed read stops the operation.
+     *
+     * @param paths  Paths to the data
+     * @param typeOf The type to map the data to
+     * @param <T>    Represents the type to map to
+     * @return Map of path to the data mapped to the specified type, in the order of the paths
+     */
+    public <T> Map<String, T> readAll(final Collection<String> paths, final Type typeOf) {
+        final Map<String, T> results = new LinkedHashMap<>();
+        for (final String path : paths) {
+            results.put(path, this.<T>read(path, typeOf));
+        }
+        return results;
+    }
+
+    /**
+     * Read operation for a specified path that decodes each value directly from the response body into a
+     * {@link VaultSecretValue} instead of a String, so that the caller can wipe the secrets from memory once they
+     * are done with them.  The returned response should be closed, or explicitly wiped, after use.  If Vault returns
+     * an unexpected response code, a {@link VaultServerException} will be thrown with the code and error details.
+     * If an unexpected I/O error is encountered, a {@link VaultClientException} will be thrown wrapping the
+     * underlying exception.
+     *
+     * @param path Path to the data
+     * @return Wipeable map of the data
+     */
+    public VaultSecretResponse readSecret(final String path) {
+        final HttpUrl url = buildUrl(SECRET_PATH_PREFIX, path);
+        logger.debug("readSecret: requestUrl={}", url);
+
+        final Response response = execute(url, HttpMethod.GET, null);
+
+        if (response.code() != HttpStatus.OK) {
+            parseAndThrowErrorResponse(response);
+        }
+
+        try {
+            return new VaultSecretResponse().setData(VaultSecretReader.readData(response.body().source()));
+        } catch (IOException e) {
+            logger.error("readSecret: responseCode={}, requestUrl={}", response.code(), url);
+            throw new VaultClientException("Error parsing the response body from vault, response code: " + response.code(), e);
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Read operation for a specified path that returns the response body exactly as Vault sent it, without parsing
+     * it.  Use {@link ByteString#toByteArray()} if a byte array is needed.  If Vault returns an unexpected response
+     * code, a {@link VaultServerException} will be thrown with the code and error details.  If an unexpected I/O
+     * error is encountered, a {@link VaultClientException} will be thrown wrapping the underlying exception.
+     *
+     * @param path Path to the data
+     * @return Raw response body
+     */
+    public ByteString readRaw(final String path) {
+        final HttpUrl url = buildUrl(SECRET_PATH_PREFIX, path);
+        logger.debug("readRaw: requestUrl={}", url);
+
+        final Response response = execute(url, HttpMethod.GET, null);
+
+        if (response.code() != HttpStatus.OK) {
+            parseAndThrowErrorResponse(response);
+        }
+
+        return responseBodyAsByteString(response);
+    }
+
+    /**
+     * Read operation for a specified path that copies the response body, exactly as Vault sent it, to the specified
+     * output stream.  The output stream is flushed but not closed.  See {@link #readRaw(String)} for details.
+     *
+     * @param path         Path to the data
+     * @param outputStream Stream to write the response body to
+     * @return Number of bytes written
+     */
+    public long readRaw(final String path, final OutputStream outputStream) {
+        final HttpUrl url = buildUrl(SECRET_PATH_PREFIX, path);
+        logger.debug("readRaw: requestUrl={}", url);
+
+        final Response response = execute(url, HttpMethod.GET, null);
+
+        if (response.code() != HttpStatus.OK) {
+            parseAndThrowErrorResponse(response);
+        }
+
+        return writeResponseBody(response, outputStream);
+    }
+
+    /**
+     * List operation for the specified path that returns the response body exactly as Vault sent it, without
+     * parsing it.  If nothing exists at the path, an empty byte string is returned.  If Vault returns any other
+     * unexpected response code, a {@link VaultServerException} will be thrown with the code and error details.
+     * If an unexpected I/O error is encountered, a {@link VaultClientException} will be thrown wrapping the
+     * underlying exception.
+     *
+     * @param path Path to the data
+     * @return Raw response body
+     */
+    public ByteString listRaw(final String path) {
+        final HttpUrl url = newUrlBuilder(SECRET_PATH_PREFIX, path)
+                .addQueryParameter(LIST_PARAMETER, "true")
+                .build();
+        logger.debug("listRaw: requestUrl={}", url);
+
+        final Response response = execute(url, HttpMethod.GET, null);
+
+        if (response.code() == HttpStatus.NOT_FOUND) {
+            response.close();
+            return ByteString.EMPTY;
+        } else if (response.code() != HttpStatus.OK) {
+            parseAndThrowErrorResponse(response);
+        }
+
+        return responseBodyAsByteString(response);
+    }
+
+    /**
+     * List operation for the specified path that copies the response body, exactly as Vault sent it, to the
+     * specified output stream.  If nothing exists at the path, nothing is written.  The output stream is flushed
+     * but not closed.  See {@link #listRaw(String)} for details.
+     *
+     * @param path         Path to the data
+     * @param outputStream Stream to write the response body to
+     * @return Number of bytes written
+     */
+    public long listRaw(final String path, final OutputStream outputStream) {
+        final HttpUrl url = newUrlBuilder(SECRET_PATH_PREFIX, path)
+                .addQueryParameter(LIST_PARAMETER, "true")
+                .build();
+        logger.debug("listRaw: requestUrl={}", url);
+
+        final Response response = execute(url, HttpMethod.GET, null);
+
+        if (response.code() == HttpStatus.NOT_FOUND) {
+            response.close();
+            return 0;
+        } else if (response.code() != HttpStatus.OK) {
+            parseAndThrowErrorResponse(response);
+        }
+
+        return writeResponseBody(response, outputStream);
+    }
+
     /**
      * Write operation for a specified path and data set. If Vault returns an unexpected response code, a
      * {@link VaultServerException} will be thrown with the code and error details.  If an unexpected I/O
@@ -234,19 +564,136 @@ public class VaultClient {
             parseAndThrowErrorResponse(response);
         }
 
-        final Type mapType = new TypeToken<Map<String, Object>>() {
-        }.getType();
-        final Map<String, Object> rootData = parseResponseBody(response, mapType);
-        return gson.fromJson(gson.toJson(rootData.get("data")), VaultClientTokenResponse.class);
+        return parseResponseField(response, DATA_FIELD, VaultClientTokenResponse.class);
+    }
+
+    /**
+     * Renews the client token being used by the requester, extending its TTL by the token's default increment.
+     *
+     * @return Auth response with the token and its new lease duration
+     */
+    public VaultAuthResponse renewSelf() {
+        return renewSelf(0);
+    }
+
+    /**
+     * Renews the client token being used by the requester.  Vault may grant a shorter lease than requested if the
+     * token's max TTL would be exceeded.
+     *
+     * @param increment Requested lease duration in seconds, zero for the token's default
+     * @return Auth response with the token and its new lease duration
+     */
+    public VaultAuthResponse renewSelf(final int increment) {
+        final HttpUrl url = buildUrl(AUTH_PATH_PREFIX, "token/renew-self");
+        logger.debug("renewSelf: requestUrl={}", url);
+
+        final Response response = execute(url, HttpMethod.POST, new VaultRenewTokenRequest(increment));
+
+        if (response.code() != HttpStatus.OK) {
+            parseAndThrowErrorResponse(response);
+        }
+
+        return parseResponseField(response, AUTH_FIELD, VaultAuthResponse.class);
     }
 
     /**
-     * Returns a copy of the URL being used for communicating with Vault
+     * Logs in to an auth backend.  The client should be created with an
+     * {@link com.nike.vault.client.auth.AnonymousVaultCredentialsProvider} as login endpoints do not take a token.
      *
-     * @return Copy of the HttpUrl object
+     * @param path        Login path under <code>v1/auth/</code>, e.g. <code>approle/login</code>
+     * @param requestBody Login request body
+     * @return Auth response with the token and its lease duration
+     */
+    public VaultAuthResponse login(final String path, final Object requestBody) {
+        final HttpUrl url = buildUrl(AUTH_PATH_PREFIX, path);
+        logger.debug("login: requestUrl={}", url);
+
+        final Response response = execute(url, HttpMethod.POST, requestBody);
+
+        if (response.code() != HttpStatus.OK) {
+            parseAndThrowErrorResponse(response);
+        }
+
+        return parseResponseField(response, AUTH_FIELD, VaultAuthResponse.class);
+    }
+
+    /**
+     * Returns the URL being used for communicating with Vault.  The URL is resolved once and cached, it is only
+     * resolved again when {@link #refreshVaultUrl()} is called or the refresh interval, if one has been set via
+     * {@link #setVaultUrlRefreshInterval(long, TimeUnit)}, has elapsed.
+     *
+     * @return The immutable HttpUrl object
      */
     public HttpUrl getVaultUrl() {
-        return HttpUrl.parse(urlResolver.resolve());
+        final HttpUrl url = sharedState.vaultUrl;
+        final long refreshIntervalNanos = sharedState.vaultUrlRefreshIntervalNanos;
+        if (url == null || (refreshIntervalNanos > 0
+                && System.nanoTime() - sharedState.vaultUrlResolvedAtNanos >= refreshIntervalNanos)) {
+            return resolveVaultUrl();
+        }
+        return url;
+    }
+
+    /**
+     * Discards the cached Vault URL and resolves it again with the configured {@link UrlResolver}.  If the resolver
+     * is a {@link RefreshableUrlResolver}, it is refreshed first.
+     */
+    public void refreshVaultUrl() {
+        if (urlResolver instanceof RefreshableUrlResolver) {
+            ((RefreshableUrlResolver) urlResolver).refresh();
+        }
+        resolveVaultUrl();
+    }
+
+    /**
+     * Sets how often the cached Vault URL is resolved again.  By default the URL is only resolved again when
+     * {@link #refreshVaultUrl()} is called.  The interval applies to this client and all views sharing its URL.
+     *
+     * @param refreshInterval Interval after which the URL is resolved again, zero or less to disable
+     * @param unit            Unit of the interval
+     */
+    public void setVaultUrlRefreshInterval(final long refreshInterval, final TimeUnit unit) {
+        sharedState.vaultUrlRefreshIntervalNanos = unit.toNanos(refreshInterval);
+    }
+
+    /**
+     * Enables hedging of GET requests, such as reads and lists.  If no response arrives by the hedging delay a second
+     * request is sent, and the first response to arrive is used.
+     * <p>
+     * Hedged requests are executed asynchronously on the HTTP client's dispatcher, so its limit on requests per host
+     * should allow for them.  The policy applies to this client and all views sharing its transport.
+     * </p>
+     *
+     * @param hedgingPolicy Settings for hedging requests, or null to disable hedging
+     */
+    public void setHedgingPolicy(final HedgingPolicy hedgingPolicy) {
+        sharedState.requestHedger = hedgingPolicy == null ? null : new RequestHedger(hedgingPolicy);
+    }
+
+    private HttpUrl resolveVaultUrl() {
+        final String resolvedUrl = urlResolver.resolve();
+        final HttpUrl url = HttpUrl.parse(resolvedUrl);
+
+        if (url == null) {
+            throw new VaultClientException("Failed to parse the resolved Vault URL: " + resolvedUrl);
+        }
+
+        sharedState.vaultUrlResolvedAtNanos = System.nanoTime();
+        sharedState.vaultUrl = url;
+        return url;
+    }
+
+    /**
+     * Enables re-authenticating when Vault rejects the token with a 403.  The credentials provider must be a
+     * {@link RefreshableVaultCredentialsProvider}.  The first request to be rejected looks the token up and, if Vault
+     * rejects that too, refreshes the provider, while other requests rejected with the same token wait for it.  Each
+     * rejected request is then retried once with the new token.  If the token is still valid, meaning the request
+     * was denied by policy, or the provider still returns the rejected token, the 403 is returned as is.
+     *
+     * @param reauthenticateOnForbidden Whether to re-authenticate on a 403
+     */
+    public void setReauthenticateOnForbidden(final boolean reauthenticateOnForbidden) {
+        this.reauthenticateOnForbidden = reauthenticateOnForbidden;
     }
 
     /**
@@ -267,6 +714,15 @@ public class VaultClient {
         return gson;
     }
 
+    /**
+     * Returns the HTTP client used to make requests to Vault.
+     *
+     * @return The HTTP client
+     */
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
     /**
      * Returns the configured default HTTP headers.
      *
@@ -284,17 +740,42 @@ public class VaultClient {
      * @return Full URL to execute a request against
      */
     protected HttpUrl buildUrl(final String prefix, final String path) {
-        String baseUrl = urlResolver.resolve();
+        return newUrlBuilder(prefix, path).build();
+    }
 
-        if (!StringUtils.endsWith(baseUrl, "/")) {
-            baseUrl += "/";
+    /**
+     * Starts building the full URL for preforming an operation against Vault from the cached Vault URL, so that
+     * query parameters can be added before it is built.  A query string included in the path is kept as is.
+     *
+     * @param prefix Prefix between the environment URL and specified path
+     * @param path   Path for the requested operation
+     * @return URL builder with the full path set
+     */
+    protected HttpUrl.Builder newUrlBuilder(final String prefix, final String path) {
+        final HttpUrl.Builder builder = getVaultUrl().newBuilder();
+
+        if (!prefix.isEmpty()) {
+            builder.addEncodedPathSegments(prefix);
         }
 
-        return HttpUrl.parse(baseUrl + prefix + path);
+        final int queryIndex = path.indexOf('?');
+        if (queryIndex < 0) {
+            builder.addEncodedPathSegments(path);
+        } else {
+            builder.addEncodedPathSegments(path.substring(0, queryIndex))
+                    .encodedQuery(path.substring(queryIndex + 1));
+        }
+
+        return builder;
     }
 
     /**
      * Executes the HTTP request based on the input parameters.
+     * <p>
+     * If the URL resolver is a {@link RefreshableUrlResolver}, connection failures and redirects from a standby node
+     * cause the Vault URL to be resolved again.  A request that was answered with a redirect, rather than the
+     * redirect being followed by the HTTP client, is retried once against the newly resolved URL.
+     * </p>
      *
      * @param url         The URL to execute the request against
      * @param method      The HTTP method for the request
@@ -305,9 +786,42 @@ public class VaultClient {
         try {
             Request request = buildRequest(url, method, requestBody);
 
-            return httpClient.newCall(request).execute();
+            Response response = call(request);
+
+            if (isRedirected(response) && urlResolver instanceof RefreshableUrlResolver) {
+                logger.info("execute: redirected by a standby Vault node, requestUrl={}", url);
+                discardVaultUrl();
+
+                if (response.code() == HttpStatus.TEMPORARY_REDIRECT) {
+                    response.close();
+                    request = buildRequest(rebase(url, getVaultUrl()), method, requestBody);
+                    response = call(request);
+                }
+            }
+
+            if (response.code() == HttpStatus.FORBIDDEN
+                    && reauthenticateOnForbidden
+                    && credentialsProvider instanceof RefreshableVaultCredentialsProvider
+                    && reauthenticate(request.header(HttpHeader.VAULT_TOKEN))) {
+                response.close();
+                request = buildRequest(request.url(), method, requestBody);
+                response = call(request);
+            }
+
+            return response;
         } catch (IOException e) {
-            if (e instanceof SSLException
+            // requests rejected on the client side never reached the node, so there is no reason to resolve it again
+            if (urlResolver instanceof RefreshableUrlResolver
+                    && !(e instanceof RequestRejectedException)
+                    && !(e instanceof CircuitBreakerOpenException)) {
+                discardVaultUrl();
+            }
+
+            if (e instanceof CircuitBreakerOpenException) {
+                throw new VaultCircuitBreakerOpenException((CircuitBreakerOpenException) e);
+            } else if (e instanceof RequestRejectedException) {
+                throw new VaultClientException(e.getMessage(), e);
+            } else if (e instanceof SSLException
                     && e.getMessage() != null
                     && e.getMessage().contains("Unrecognized SSL message, plaintext connection?")) {
                 // AnyConnect web security proxy can be disabled with:
@@ -319,6 +833,106 @@ public class VaultClient {
         }
     }
 
+    /**
+     * Executes the request, hedging it if it is a GET and hedging is enabled.
+     */
+    private Response call(final Request request) throws IOException {
+        final RequestHedger hedger = sharedState.requestHedger;
+        if (hedger != null && HttpMethod.GET.equals(request.method())) {
+            return hedger.execute(httpClient, request);
+        }
+        return httpClient.newCall(request).execute();
+    }
+
+    /**
+     * Refreshes the credentials provider after Vault rejected a token, unless it has already been refreshed since.
+     * A 403 is also returned for requests the token's policies do not allow, so the provider is only refreshed if
+     * Vault confirms the token is no longer valid, to avoid a login for every denied request.
+     *
+     * @param rejectedToken The token Vault rejected
+     * @return Whether the provider now returns a different token
+     */
+    private boolean reauthenticate(final String rejectedToken) {
+        synchronized (reauthenticationLock) {
+            if (!isCurrentToken(rejectedToken)) {
+                return true;
+            }
+
+            final long now = System.nanoTime();
+            if (now - lastReauthenticatedAtNanos < MIN_REAUTHENTICATION_INTERVAL_NANOS) {
+                return false;
+            }
+
+            lastReauthenticatedAtNanos = now;
+            if (!isTokenInvalid(rejectedToken)) {
+                logger.debug("reauthenticate: token is still valid, request was denied by policy");
+                return false;
+            }
+
+            logger.info("reauthenticate: token rejected by Vault, refreshing credentials");
+            ((RefreshableVaultCredentialsProvider) credentialsProvider).refresh();
+            return !isCurrentToken(rejectedToken);
+        }
+    }
+
+    /**
+     * Looks the token up, which every valid token is allowed to do, and returns true only if Vault rejects it.
+     */
+    private boolean isTokenInvalid(final String token) {
+        if (token == null) {
+            return true;
+        }
+
+        final Request request = buildRequest(buildUrl(AUTH_PATH_PREFIX, "token/lookup-self"), HttpMethod.GET, null)
+                .newBuilder()
+                .header(HttpHeader.VAULT_TOKEN, token)
+                .build();
+        try {
+            final Response response = httpClient.newCall(request).execute();
+            response.close();
+            return response.code() == HttpStatus.FORBIDDEN;
+        } catch (IOException e) {
+            logger.debug("reauthenticate: unable to look up the rejected token", e);
+            return false;
+        }
+    }
+
+    private boolean isCurrentToken(final String token) {
+        return StringUtils.equals(token, credentialsProvider.getCredentials().getToken());
+    }
+
+    /**
+     * Discards the cached Vault URL, and the URL cached by the resolver, so that it is resolved again when the next
+     * request is made.
+     */
+    private void discardVaultUrl() {
+        ((RefreshableUrlResolver) urlResolver).refresh();
+        sharedState.vaultUrl = null;
+    }
+
+    /**
+     * Returns true if the request was redirected, whether or not the HTTP client followed the redirect.
+     */
+    private static boolean isRedirected(final Response response) {
+        for (Response current = response; current != null; current = current.priorResponse()) {
+            if (current.code() == HttpStatus.TEMPORARY_REDIRECT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Points the URL at the node of the specified base URL, keeping its path and query.
+     */
+    private static HttpUrl rebase(final HttpUrl url, final HttpUrl baseUrl) {
+        return url.newBuilder()
+                .scheme(baseUrl.scheme())
+                .host(baseUrl.host())
+                .port(baseUrl.port())
+                .build();
+    }
+
     /**
      * Build the HTTP request to execute for the Vault Client
      * @param url         The URL to execute the request against
@@ -330,9 +944,13 @@ public class VaultClient {
         Request.Builder requestBuilder = new Request.Builder()
                 .url(url)
                 .headers(defaultHeaders)  // call headers method first because it overwrites all existing headers
-                .addHeader(HttpHeader.VAULT_TOKEN, credentialsProvider.getCredentials().getToken())
                 .addHeader(HttpHeader.ACCEPT, DEFAULT_MEDIA_TYPE.toString());
 
+        final String token = credentialsProvider.getCredentials().getToken();
+        if (token != null) {
+            requestBuilder.addHeader(HttpHeader.VAULT_TOKEN, token);
+        }
+
         if (requestBody != null) {
             requestBuilder.addHeader(HttpHeader.CONTENT_TYPE, DEFAULT_MEDIA_TYPE.toString())
                     .method(method, RequestBody.create(DEFAULT_MEDIA_TYPE, gson.toJson(requestBody)));
@@ -381,27 +999,150 @@ public class VaultClient {
         }
     }
 
+    /**
+     * Convenience method for streaming a single top level field of the HTTP response body, such as
+     * <code>data</code> or <code>auth</code>, straight into a type.  The rest of the body is never materialized.
+     *
+     * @param response The HTTP response object
+     * @param field    Name of the top level field to map
+     * @param typeOf   The type to map the field to
+     * @param <M>      Represents the type to map to
+     * @return Deserialized object from the field, or null if the field is absent or null
+     */
+    protected <M> M parseResponseField(final Response response, final String field, final Type typeOf) {
+        final TypeAdapter<M> typeAdapter = getTypeAdapter(typeOf);
+        try {
+            final JsonReader reader = new JsonReader(response.body().charStream());
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (field.equals(reader.nextName())) {
+                    return typeAdapter.read(reader);
+                }
+                reader.skipValue();
+            }
+            return null;
+        } catch (IOException | IllegalStateException | JsonParseException e) {
+            logger.error("parseResponseField: responseCode={}, requestUrl={}, field={}",
+                    response.code(), response.request().url(), field);
+            throw new VaultClientException("Error parsing the response body from vault, response code: " + response.code(), e);
+        } finally {
+            response.close();
+        }
+    }
+
+    private static Gson createGson() {
+        return new GsonBuilder()
+                .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+                .disableHtmlEscaping()
+                .create();
+    }
+
+    /**
+     * Returns the Gson type adapter for the specified type, caching it so that repeated reads of the same type
+     * skip the adapter lookup.
+     */
+    @SuppressWarnings("unchecked")
+    private <M> TypeAdapter<M> getTypeAdapter(final Type typeOf) {
+        TypeAdapter<?> typeAdapter = typeAdapters.get(typeOf);
+        if (typeAdapter == null) {
+            typeAdapter = gson.getAdapter(TypeToken.get(typeOf));
+            typeAdapters.putIfAbsent(typeOf, typeAdapter);
+        }
+        return (TypeAdapter<M>) typeAdapter;
+    }
+
     /**
      * Convenience method for parsing the errors from the HTTP response and throwing a {@link VaultServerException}.
+     * At most {@link #MAX_ERROR_BODY_BYTES} of the response body are read, so that an unexpectedly large error page,
+     * e.g. from a load balancer, does not have to be buffered in full.  Only the <code>errors</code> array of the
+     * body is parsed.
      *
      * @param response Response to parses the error details from
      */
     protected void parseAndThrowErrorResponse(final Response response) {
-        final String responseBodyStr = responseBodyAsString(response);
-        logger.debug("parseAndThrowErrorResponse: responseCode={}, requestUrl={}, response={}",
-                response.code(), response.request().url(), responseBodyStr);
+        final Buffer errorBody = new Buffer();
+        final boolean truncated = readErrorBody(response, errorBody);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("parseAndThrowErrorResponse: responseCode={}, requestUrl={}, truncated={}, response={}",
+                    response.code(), response.request().url(), truncated, errorBody.clone().readUtf8());
+        }
 
+        final List<String> errors;
         try {
-            ErrorResponse errorResponse = gson.fromJson(responseBodyStr, ErrorResponse.class);
+            errors = parseErrors(errorBody, truncated);
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            logger.error("ERROR Failed to parse error message, response body received: {}", errorBody.readUtf8());
+            throw new VaultClientException("Error parsing the error response body from vault, response code: " + response.code(), e);
+        }
 
-            if (errorResponse != null) {
-                throw new VaultServerException(response.code(), errorResponse.getErrors());
-            } else {
-                throw new VaultServerException(response.code(), new LinkedList<String>());
+        throw new VaultServerException(response.code(), errors);
+    }
+
+    /**
+     * Reads up to {@link #MAX_ERROR_BODY_BYTES} of the response body into the buffer and closes the response.
+     *
+     * @return true if the body was longer than the limit and has been truncated
+     */
+    private boolean readErrorBody(final Response response, final Buffer errorBody) {
+        try {
+            final BufferedSource source = response.body().source();
+            final boolean truncated = source.request(MAX_ERROR_BODY_BYTES + 1);
+            source.read(errorBody, MAX_ERROR_BODY_BYTES);
+            return truncated;
+        } catch (IOException ioe) {
+            logger.debug("readErrorBody: failed to read the error response body, requestUrl={}",
+                    response.request().url(), ioe);
+            return false;
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Streams through the error body, reading only the <code>errors</code> array.  If the body has been truncated
+     * part way through a JSON object, any errors read before the cut off are returned.
+     */
+    private List<String> parseErrors(final Buffer errorBody, final boolean truncated) throws IOException {
+        final List<String> errors = new LinkedList<>();
+        if (errorBody.size() == 0) {
+            return errors;
+        }
+
+        final JsonReader reader = new JsonReader(new InputStreamReader(errorBody.clone().inputStream(), UTF_8));
+        reader.setLenient(true);
+        boolean objectStarted = false;
+        try {
+            final JsonToken token = reader.peek();
+            if (token == JsonToken.NULL || token == JsonToken.END_DOCUMENT) {
+                return errors;
+            } else if (token != JsonToken.BEGIN_OBJECT) {
+                throw new MalformedJsonException("Expected the error response body to be a JSON object but was " + token);
             }
-        } catch (JsonSyntaxException e) {
-            logger.error("ERROR Failed to parse error message, response body received: {}", responseBodyStr);
-            throw new VaultClientException("Error parsing the error response body from vault, response code: " + response.code(), e);
+
+            reader.beginObject();
+            objectStarted = true;
+            while (reader.hasNext()) {
+                if (ERRORS_FIELD.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        final JsonToken errorToken = reader.peek();
+                        if (errorToken == JsonToken.STRING || errorToken == JsonToken.NUMBER) {
+                            errors.add(reader.nextString());
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    return errors;
+                }
+                reader.skipValue();
+            }
+            return errors;
+        } catch (IOException e) {
+            if (truncated && objectStarted) {
+                return errors;
+            }
+            throw e;
         }
     }
 
@@ -416,6 +1157,41 @@ public class VaultClient {
         }
     }
 
+    /**
+     * Reads the full HTTP response body as bytes and closes the response.
+     *
+     * @param response The HTTP response object
+     * @return Response body
+     */
+    protected ByteString responseBodyAsByteString(final Response response) {
+        try {
+            return response.body().source().readByteString();
+        } catch (IOException e) {
+            throw new VaultClientException("I/O error while reading the response body from vault.", e);
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Copies the full HTTP response body to the output stream and closes the response.
+     *
+     * @param response     The HTTP response object
+     * @param outputStream Stream to write the response body to
+     * @return Number of bytes written
+     */
+    protected long writeResponseBody(final Response response, final OutputStream outputStream) {
+        try {
+            final long bytesWritten = response.body().source().readAll(Okio.sink(outputStream));
+            outputStream.flush();
+            return bytesWritten;
+        } catch (IOException e) {
+            throw new VaultClientException("I/O error while copying the response body from vault.", e);
+        } finally {
+            response.close();
+        }
+    }
+
     protected String responseBodyAsString(Response response) {
         try {
             return response.body().string();
@@ -424,4 +1200,19 @@ public class VaultClient {
             return "ERROR failed to print response body as str: " + ioe.getMessage();
         }
     }
+
+    /**
+     * State a client shares with its views, so that a URL resolved again after a failover, or a hedging policy,
+     * reaches all of them.
+     */
+    private static final class SharedState {
+
+        private volatile HttpUrl vaultUrl;
+
+        private volatile long vaultUrlResolvedAtNanos;
+
+        private volatile long vaultUrlRefreshIntervalNanos;
+
+        private volatile RequestHedger requestHedger;
+    }
 }
@@ -17,13 +17,23 @@
 package com.nike.vault.client;
 
 import com.nike.vault.client.auth.DefaultVaultCredentialsProviderChain;
+import com.nike.vault.client.auth.MemoizingVaultCredentialsProvider;
 import com.nike.vault.client.auth.VaultCredentialsProvider;
+import okhttp3.ConnectionPool;
 import okhttp3.ConnectionSpec;
 import okhttp3.Dispatcher;
 import okhttp3.Headers;
 import okhttp3.OkHttpClient;
 import okhttp3.TlsVersion;
 
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -56,6 +66,12 @@ public class VaultClientFactory {
     private static final int DEFAULT_MAX_REQUESTS = 200;
     private static final Map<String, String> DEFAULT_HEADERS = new HashMap<>();
 
+    private static SSLContext sharedSslContext;
+
+    private static SSLSocketFactory sharedSslSocketFactory;
+
+    private static X509TrustManager sharedTrustManager;
+
     /**
      * Basic factory method that will build a Vault client that
      * looks up the Vault URL from one of the following places:
@@ -63,12 +79,15 @@ public class VaultClientFactory {
      * <li>Environment Variable - <code>VAULT_ADDR</code></li>
      * <li>Java System Property - <code>vault.addr</code></li>
      * </ul>
-     * Default recommended credential provider and http client are used.
+     * Default recommended credential provider and http client are used.  The URL and token are looked up once and
+     * memoized, see {@link MemoizingUrlResolver} and {@link MemoizingVaultCredentialsProvider}.
      *
      * @return Vault client
      */
     public static VaultClient getClient() {
-        return getClient(new DefaultVaultUrlResolver(), new DefaultVaultCredentialsProviderChain(), new HashMap<String, String>());
+        return getClient(new MemoizingUrlResolver(new DefaultVaultUrlResolver()),
+                new MemoizingVaultCredentialsProvider(new DefaultVaultCredentialsProviderChain()),
+                new HashMap<String, String>());
     }
 
     /**
@@ -79,7 +98,9 @@ public class VaultClientFactory {
      * @return Vault client
      */
     public static VaultClient getClient(final UrlResolver vaultUrlResolver) {
-        return getClient(vaultUrlResolver, new DefaultVaultCredentialsProviderChain(), new HashMap<String, String>());
+        return getClient(vaultUrlResolver,
+                new MemoizingVaultCredentialsProvider(new DefaultVaultCredentialsProviderChain()),
+                new HashMap<String, String>());
     }
 
     /**
@@ -106,23 +127,27 @@ public class VaultClientFactory {
     public static VaultClient getClient(final UrlResolver vaultUrlResolver,
                                         final VaultCredentialsProvider vaultCredentialsProvider,
                                         final Map<String, String> defaultHeaders) {
+        return getClient(vaultUrlResolver, vaultCredentialsProvider, defaultHeaders, new HttpClientSettings());
+    }
 
-        List<ConnectionSpec> connectionSpecs = new ArrayList<>();
-        connectionSpecs.add(TLS_1_2_OR_NEWER);
-        // for unit tests
-        connectionSpecs.add(CLEARTEXT);
-
-        return getClient(
-                vaultUrlResolver,
+    /**
+     * Factory method that allows a user to configure the HTTP client, such as its connection pool, as
+     * well as the Vault URL resolver, credentials provider and default HTTP headers.
+     *
+     * @param vaultUrlResolver         URL resolver for Vault
+     * @param vaultCredentialsProvider Credential provider for acquiring a token for interacting with Vault
+     * @param defaultHeaders           Map of default header names and values to add to every HTTP request
+     * @param httpClientSettings       Settings for the HTTP client
+     * @return Vault client
+     */
+    public static VaultClient getClient(final UrlResolver vaultUrlResolver,
+                                        final VaultCredentialsProvider vaultCredentialsProvider,
+                                        final Map<String, String> defaultHeaders,
+                                        final HttpClientSettings httpClientSettings) {
+        return getClient(vaultUrlResolver,
                 vaultCredentialsProvider,
                 defaultHeaders,
-                new OkHttpClient.Builder()
-                        .connectTimeout(DEFAULT_TIMEOUT, DEFAULT_TIMEOUT_UNIT)
-                        .writeTimeout(DEFAULT_TIMEOUT, DEFAULT_TIMEOUT_UNIT)
-                        .readTimeout(DEFAULT_TIMEOUT, DEFAULT_TIMEOUT_UNIT)
-                        .connectionSpecs(connectionSpecs)
-                        .build()
-        );
+                buildHttpClient(httpClientSettings));
     }
 
     /**
@@ -153,6 +178,20 @@ public class VaultClientFactory {
                 headers.build());
     }
 
+    /**
+     * Builds an HTTP client with the default timeouts, for components that call Vault on their own rather than
+     * through a Vault client, such as URL resolvers and credentials providers.
+     *
+     * @return HTTP client
+     */
+    public static OkHttpClient buildDefaultHttpClient() {
+        return new OkHttpClient.Builder()
+                .connectTimeout(DEFAULT_TIMEOUT, DEFAULT_TIMEOUT_UNIT)
+                .writeTimeout(DEFAULT_TIMEOUT, DEFAULT_TIMEOUT_UNIT)
+                .readTimeout(DEFAULT_TIMEOUT, DEFAULT_TIMEOUT_UNIT)
+                .build();
+    }
+
     /**
      * Basic factory method that will build a Vault admin client that
      * looks up the Vault URL from one of the following places:
@@ -160,13 +199,14 @@ public class VaultClientFactory {
      * <li>Environment Variable - <code>VAULT_ADDR</code></li>
      * <li>Java System Property - <code>vault.addr</code></li>
      * </ul>
-     * Default recommended credential provider and http client are used.
+     * Default recommended credential provider and http client are used.  The URL and token are looked up once and
+     * memoized, see {@link MemoizingUrlResolver} and {@link MemoizingVaultCredentialsProvider}.
      *
      * @return Vault admin client
      */
     public static VaultAdminClient getAdminClient() {
-        return getAdminClient(new DefaultVaultUrlResolver(),
-                new DefaultVaultCredentialsProviderChain(),
+        return getAdminClient(new MemoizingUrlResolver(new DefaultVaultUrlResolver()),
+                new MemoizingVaultCredentialsProvider(new DefaultVaultCredentialsProviderChain()),
                 DEFAULT_MAX_REQUESTS,
                 DEFAULT_MAX_REQUESTS,
                 DEFAULT_TIMEOUT,
@@ -185,7 +225,7 @@ public class VaultClientFactory {
      */
     public static VaultAdminClient getAdminClient(final UrlResolver vaultUrlResolver) {
         return getAdminClient(vaultUrlResolver,
-                new DefaultVaultCredentialsProviderChain(),
+                new MemoizingVaultCredentialsProvider(new DefaultVaultCredentialsProviderChain()),
                 DEFAULT_MAX_REQUESTS,
                 DEFAULT_MAX_REQUESTS,
                 DEFAULT_TIMEOUT,
@@ -302,20 +342,35 @@ public class VaultClientFactory {
                                                   final int readTimeoutMillis,
                                                   final int writeTimeoutMillis,
                                                   final Map<String, String> defaultHeaders) {
+        return getAdminClient(vaultUrlResolver,
+                vaultCredentialsProvider,
+                defaultHeaders,
+                new HttpClientSettings()
+                        .setMaxRequests(maxRequests)
+                        .setMaxRequestsPerHost(maxRequestsPerHost)
+                        .setConnectTimeoutMillis(connectTimeoutMillis)
+                        .setReadTimeoutMillis(readTimeoutMillis)
+                        .setWriteTimeoutMillis(writeTimeoutMillis));
+    }
+
+    /**
+     * Factory method that allows the user to configure the HTTP client, such as its connection pool, as
+     * well as the Vault URL resolver, credentials provider and default HTTP headers.
+     *
+     * @param vaultUrlResolver         URL resolver for Vault
+     * @param vaultCredentialsProvider Credential provider for acquiring a token for interacting with Vault
+     * @param defaultHeaders           Map of default header names and values to add to every HTTP request
+     * @param httpClientSettings       Settings for the HTTP client
+     * @return Vault admin client
+     */
+    public static VaultAdminClient getAdminClient(final UrlResolver vaultUrlResolver,
+                                                  final VaultCredentialsProvider vaultCredentialsProvider,
+                                                  final Map<String, String> defaultHeaders,
+                                                  final HttpClientSettings httpClientSettings) {
         if (defaultHeaders == null) {
             throw new IllegalArgumentException("Default headers cannot be null.");
         }
 
-        Dispatcher dispatcher = new Dispatcher();
-        dispatcher.setMaxRequests(maxRequests);
-        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
-
-
-        List<ConnectionSpec> connectionSpecs = new ArrayList<>();
-        connectionSpecs.add(TLS_1_2_OR_NEWER);
-        // for unit tests
-        connectionSpecs.add(CLEARTEXT);
-
         Headers.Builder headers = new Headers.Builder();
         for (Map.Entry<String, String> header : defaultHeaders.entrySet()) {
             headers.add(header.getKey(), header.getValue());
@@ -323,13 +378,92 @@ public class VaultClientFactory {
 
         return new VaultAdminClient(vaultUrlResolver,
                 vaultCredentialsProvider,
-                new OkHttpClient.Builder()
-                        .connectTimeout(connectTimeoutMillis, DEFAULT_TIMEOUT_UNIT)
-                        .writeTimeout(writeTimeoutMillis, DEFAULT_TIMEOUT_UNIT)
-                        .readTimeout(readTimeoutMillis, DEFAULT_TIMEOUT_UNIT)
-                        .dispatcher(dispatcher)
-                        .connectionSpecs(connectionSpecs)
-                        .build(),
+                buildHttpClient(httpClientSettings),
                 headers.build());
     }
+
+    /**
+     * Builds an HTTP client with the specified settings.
+     *
+     * @param httpClientSettings Settings for the HTTP client
+     * @return HTTP client
+     */
+    public static OkHttpClient buildHttpClient(final HttpClientSettings httpClientSettings) {
+        if (httpClientSettings == null) {
+            throw new IllegalArgumentException("HTTP client settings cannot be null.");
+        }
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(httpClientSettings.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(httpClientSettings.getMaxRequestsPerHost());
+
+        List<ConnectionSpec> connectionSpecs = new ArrayList<>();
+        connectionSpecs.add(TLS_1_2_OR_NEWER);
+        if (httpClientSettings.isAllowCleartext()) {
+            connectionSpecs.add(CLEARTEXT);
+        }
+
+        final OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectTimeout(httpClientSettings.getConnectTimeoutMillis(), DEFAULT_TIMEOUT_UNIT)
+                .writeTimeout(httpClientSettings.getWriteTimeoutMillis(), DEFAULT_TIMEOUT_UNIT)
+                .readTimeout(httpClientSettings.getReadTimeoutMillis(), DEFAULT_TIMEOUT_UNIT)
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(httpClientSettings.getMaxIdleConnections(),
+                        httpClientSettings.getKeepAliveDurationMillis(), TimeUnit.MILLISECONDS))
+                .connectionSpecs(connectionSpecs);
+
+        if (httpClientSettings.getProtocols() != null) {
+            builder.protocols(httpClientSettings.getProtocols());
+        }
+
+        if (httpClientSettings.getDns() != null) {
+            builder.dns(httpClientSettings.getDns());
+        }
+
+        if (httpClientSettings.isSharedTlsSessionCache()) {
+            getSharedSslContext(httpClientSettings);
+            builder.sslSocketFactory(sharedSslSocketFactory, sharedTrustManager);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns the TLS context shared by HTTP clients, creating it with the system's default trust store the first time.
+     * The session cache size and timeout are only applied when the context is created, so the settings of the first
+     * client that shares it apply to all clients.
+     */
+    private static synchronized SSLContext getSharedSslContext(final HttpClientSettings httpClientSettings) {
+        if (sharedSslContext == null) {
+            try {
+                final TrustManagerFactory trustManagerFactory =
+                        TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+                trustManagerFactory.init((KeyStore) null);
+
+                for (final TrustManager trustManager : trustManagerFactory.getTrustManagers()) {
+                    if (trustManager instanceof X509TrustManager) {
+                        sharedTrustManager = (X509TrustManager) trustManager;
+                    }
+                }
+
+                if (sharedTrustManager == null) {
+                    throw new VaultClientException("No X509 trust manager found in the default trust store.");
+                }
+
+                final SSLContext sslContext = SSLContext.getInstance("TLS");
+                sslContext.init(null, new TrustManager[]{sharedTrustManager}, null);
+
+                final SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+                sessionContext.setSessionCacheSize(httpClientSettings.getTlsSessionCacheSize());
+                sessionContext.setSessionTimeout((int) Math.min(Integer.MAX_VALUE,
+                        httpClientSettings.getTlsSessionTimeoutSeconds()));
+
+                sharedSslSocketFactory = sslContext.getSocketFactory();
+                sharedSslContext = sslContext;
+            } catch (GeneralSecurityException e) {
+                throw new VaultClientException("Unable to create the shared TLS context.", e);
+            }
+        }
+        return sharedSslContext;
+    }
 }
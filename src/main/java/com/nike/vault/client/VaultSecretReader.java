@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.google.gson.stream.MalformedJsonException;
+import com.nike.vault.client.model.VaultSecretValue;
+import okio.BufferedSource;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal streaming JSON reader that decodes the <code>data</code> object of a Vault read response directly from
+ * the response body into char arrays.  Gson's reader always materializes values as Strings, which would leave a
+ * copy of every secret on the heap that can not be wiped.
+ * <p>
+ * String values are decoded, any other value (numbers, booleans, nested objects and arrays) is kept as its raw
+ * JSON text.  JSON null values are mapped to null.
+ * </p>
+ */
+final class VaultSecretReader {
+
+    private static final String DATA_FIELD = "data";
+
+    private static final char[] NULL_LITERAL = {'n', 'u', 'l', 'l'};
+
+    private static final int NONE = -1;
+
+    private final BufferedSource source;
+
+    private final CharAccumulator accumulator = new CharAccumulator();
+
+    private int peeked = NONE;
+
+    private VaultSecretReader(final BufferedSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Reads the <code>data</code> object from a Vault response body.
+     *
+     * @param source Response body source
+     * @return Map of the secret values, or null if the response did not contain any data
+     * @throws IOException If the body could not be read or is not valid JSON
+     */
+    static Map<String, VaultSecretValue> readData(final BufferedSource source) throws IOException {
+        final VaultSecretReader reader = new VaultSecretReader(source);
+        final Map<String, VaultSecretValue> data = new LinkedHashMap<>();
+        boolean dataFound = false;
+
+        try {
+            reader.consume('{');
+            if (reader.peekNonWhitespace() == '}') {
+                reader.next();
+                return null;
+            }
+
+            do {
+                final String name = reader.readName();
+                if (DATA_FIELD.equals(name) && reader.peekNonWhitespace() == '{') {
+                    reader.readObject(data);
+                    dataFound = true;
+                } else {
+                    reader.readRawValue(false);
+                }
+            } while (reader.nextMember('}'));
+
+            return dataFound ? data : null;
+        } catch (IOException | RuntimeException e) {
+            for (final VaultSecretValue value : data.values()) {
+                if (value != null) {
+                    value.wipe();
+                }
+            }
+            throw e;
+        } finally {
+            reader.accumulator.wipe();
+        }
+    }
+
+    private void readObject(final Map<String, VaultSecretValue> data) throws IOException {
+        consume('{');
+        if (peekNonWhitespace() == '}') {
+            next();
+            return;
+        }
+
+        do {
+            final String name = readName();
+            if (peekNonWhitespace() == '"') {
+                readString();
+                data.put(name, new VaultSecretValue(accumulator.drain()));
+            } else {
+                readRawValue(true);
+                final char[] raw = accumulator.drain();
+                data.put(name, Arrays.equals(raw, NULL_LITERAL) ? null : new VaultSecretValue(raw));
+            }
+        } while (nextMember('}'));
+    }
+
+    private String readName() throws IOException {
+        if (peekNonWhitespace() != '"') {
+            throw new MalformedJsonException("Expected a member name in the response body.");
+        }
+
+        readString();
+        final char[] name = accumulator.drain();
+        final String result = new String(name);
+        Arrays.fill(name, '\0');
+        consume(':');
+        return result;
+    }
+
+    /**
+     * Decodes a JSON string, including escape sequences, into the accumulator.
+     */
+    private void readString() throws IOException {
+        consume('"');
+        while (true) {
+            final int c = next();
+            if (c == '"') {
+                return;
+            } else if (c == '\\') {
+                final int escaped = next();
+                switch (escaped) {
+                    case 'b':
+                        accumulator.append('\b');
+                        break;
+                    case 'f':
+                        accumulator.append('\f');
+                        break;
+                    case 'n':
+                        accumulator.append('\n');
+                        break;
+                    case 'r':
+                        accumulator.append('\r');
+                        break;
+                    case 't':
+                        accumulator.append('\t');
+                        break;
+                    case 'u':
+                        accumulator.append(readUnicodeEscape());
+                        break;
+                    case '"':
+                    case '\\':
+                    case '/':
+                        accumulator.append((char) escaped);
+                        break;
+                    default:
+                        throw new MalformedJsonException("Invalid escape sequence in the response body.");
+                }
+            } else {
+                accumulator.appendCodePoint(c);
+            }
+        }
+    }
+
+    private char readUnicodeEscape() throws IOException {
+        int result = 0;
+        for (int i = 0; i < 4; i++) {
+            final int digit = Character.digit(next(), 16);
+            if (digit < 0) {
+                throw new MalformedJsonException("Invalid unicode escape in the response body.");
+            }
+            result = (result << 4) | digit;
+        }
+        return (char) result;
+    }
+
+    /**
+     * Reads any JSON value verbatim, optionally keeping its raw text in the accumulator.
+     */
+    private void readRawValue(final boolean keep) throws IOException {
+        peekNonWhitespace();
+
+        int depth = 0;
+        int length = 0;
+        boolean inString = false;
+        boolean escaped = false;
+
+        while (true) {
+            final int c = peek();
+            if (!inString && depth == 0 && isValueTerminator(c)) {
+                break;
+            }
+
+            next();
+            length++;
+            if (keep) {
+                accumulator.appendCodePoint(c);
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    if (depth == 0) {
+                        break;
+                    }
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+                if (depth <= 0) {
+                    break;
+                }
+            }
+        }
+
+        if (length == 0 || depth != 0) {
+            throw new MalformedJsonException("Expected a value in the response body.");
+        }
+    }
+
+    /**
+     * Consumes the separator after an object member and reports whether another member follows.
+     */
+    private boolean nextMember(final char end) throws IOException {
+        final int c = peekNonWhitespace();
+        next();
+        if (c == ',') {
+            return true;
+        } else if (c == end) {
+            return false;
+        }
+
+        throw new MalformedJsonException("Unexpected character in the response body.");
+    }
+
+    private void consume(final char expected) throws IOException {
+        if (peekNonWhitespace() != expected) {
+            throw new MalformedJsonException("Expected '" + expected + "' in the response body.");
+        }
+        next();
+    }
+
+    private int peekNonWhitespace() throws IOException {
+        while (Character.isWhitespace(peek())) {
+            next();
+        }
+        return peek();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == NONE) {
+            peeked = source.readUtf8CodePoint();
+        }
+        return peeked;
+    }
+
+    private int next() throws IOException {
+        final int c = peek();
+        peeked = NONE;
+        return c;
+    }
+
+    private static boolean isValueTerminator(final int c) {
+        return c == ',' || c == '}' || c == ']' || Character.isWhitespace(c);
+    }
+
+    /**
+     * Growable char buffer that zeroes out every array it lets go of.
+     */
+    private static final class CharAccumulator {
+
+        private char[] buffer = new char[64];
+
+        private int length;
+
+        void append(final char c) {
+            ensureCapacity(length + 1);
+            buffer[length++] = c;
+        }
+
+        void appendCodePoint(final int codePoint) {
+            ensureCapacity(length + 2);
+            length += Character.toChars(codePoint, buffer, length);
+        }
+
+        /**
+         * Returns an exactly sized copy of the accumulated chars and clears the accumulator.
+         */
+        char[] drain() {
+            final char[] result = Arrays.copyOf(buffer, length);
+            Arrays.fill(buffer, 0, length, '\0');
+            length = 0;
+            return result;
+        }
+
+        void wipe() {
+            Arrays.fill(buffer, '\0');
+            length = 0;
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity > buffer.length) {
+                final char[] expanded = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+                Arrays.fill(buffer, '\0');
+                buffer = expanded;
+            }
+        }
+    }
+}
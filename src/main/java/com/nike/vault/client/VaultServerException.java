@@ -31,18 +31,34 @@ public class VaultServerException extends VaultClientException {
 
     private final List<String> errors;
 
+    private String message;
+
     /**
-     * Construction of the exception with the specified code and error message list.
+     * Construction of the exception with the specified code and error message list.  The message is only
+     * formatted when {@link #getMessage()} is first called.
      *
      * @param code   HTTP response code
      * @param errors List of error messages
      */
     public VaultServerException(final int code, final List<String> errors) {
-        super(String.format(MESSAGE_FORMAT, code, StringUtils.join(errors, ", ")));
+        super(null);
         this.code = code;
         this.errors = errors;
     }
 
+    /**
+     * Returns the message, including the HTTP response code and the error messages.
+     *
+     * @return Message
+     */
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = String.format(MESSAGE_FORMAT, code, StringUtils.join(errors, ", "));
+        }
+        return message;
+    }
+
     /**
      * Returns the HTTP response code
      *
@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.model.VaultAuthResponse;
+import com.nike.vault.client.model.VaultCreateTokenResult;
+import com.nike.vault.client.model.VaultRevokeTokensResult;
+import com.nike.vault.client.model.VaultTokenAuthRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nike.vault.client.VaultClientFactory.DEFAULT_TIMEOUT;
+import static com.nike.vault.client.VaultClientFactory.DEFAULT_TIMEOUT_UNIT;
+
+/**
+ * Pool of pre-created tokens, so that handing out a new token does not wait on a round trip to Vault.
+ * <p>
+ * Each template registered with {@link #addTemplate(String, VaultTokenAuthRequest, int)} gets its own pool, which
+ * is filled once {@link #start()} is called.  {@link #take(String)} hands out a pooled token, skipping any that
+ * expire too soon, and refills the pool in the background once it drops to the low watermark.  If the pool is
+ * empty, a token is created on the spot.  Tokens discarded for expiring too soon, and the tokens left when the pool
+ * is closed, are revoked.  A pool whose new tokens already expire too soon is no longer refilled.
+ * </p>
+ * <pre>
+ *     final VaultTokenPool tokenPool = new VaultTokenPool(adminClient)
+ *             .addTemplate("job", new VaultTokenAuthRequest().setPolicies(jobPolicies).setTtl("1h"), 50);
+ *     tokenPool.start();
+ *     final String token = tokenPool.take("job").getClientToken();
+ * </pre>
+ */
+public class VaultTokenPool implements Closeable {
+
+    public static final double DEFAULT_LOW_WATERMARK = 0.5;
+
+    public static final long DEFAULT_MIN_REMAINING_TTL_SECONDS = 60;
+
+    public static final long DEFAULT_MAINTENANCE_INTERVAL_SECONDS = 10;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VaultTokenPool.class);
+
+    private final VaultAdminClient vaultClient;
+
+    private final ConcurrentMap<String, Pool> pools = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile double lowWatermark = DEFAULT_LOW_WATERMARK;
+
+    private volatile long minRemainingTtlNanos = TimeUnit.SECONDS.toNanos(DEFAULT_MIN_REMAINING_TTL_SECONDS);
+
+    private volatile long maintenanceIntervalMillis = TimeUnit.SECONDS.toMillis(DEFAULT_MAINTENANCE_INTERVAL_SECONDS);
+
+    private volatile int concurrency = VaultAdminClient.DEFAULT_BATCH_CONCURRENCY;
+
+    private volatile boolean closed;
+
+    /**
+     * Explicit constructor that takes the admin client the tokens are created with.
+     *
+     * @param vaultClient Admin client with a token that may create the tokens
+     */
+    public VaultTokenPool(final VaultAdminClient vaultClient) {
+        if (vaultClient == null) {
+            throw new IllegalArgumentException("Vault client can not be null.");
+        }
+
+        this.vaultClient = vaultClient;
+        this.scheduler = Executors.newScheduledThreadPool(1, new DaemonThreadFactory("vault-token-pool"));
+    }
+
+    /**
+     * Adds a pool of tokens created from a template.
+     *
+     * @param name     Name the tokens are taken by
+     * @param template Request the tokens are created with
+     * @param size     Number of tokens kept in the pool
+     * @return The token pool
+     */
+    public VaultTokenPool addTemplate(final String name, final VaultTokenAuthRequest template, final int size) {
+        if (name == null || template == null) {
+            throw new IllegalArgumentException("Name and template can not be null.");
+        }
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("Pool size must be greater than zero.");
+        }
+
+        pools.put(name, new Pool(name, template, size));
+        return this;
+    }
+
+    /**
+     * Sets the share of the pool size at or below which the pool is refilled.
+     *
+     * @param lowWatermark Share of the pool size, between zero and one
+     * @return The token pool
+     */
+    public VaultTokenPool setLowWatermark(final double lowWatermark) {
+        if (lowWatermark < 0 || lowWatermark >= 1) {
+            throw new IllegalArgumentException("Low watermark must be at least zero and less than one.");
+        }
+        this.lowWatermark = lowWatermark;
+        return this;
+    }
+
+    /**
+     * Sets the least time a token must have left before it expires to be handed out.  Tokens with less time left
+     * are discarded.  This must be shorter than the TTL of the templates: a pool whose new tokens already have less
+     * time left stops being refilled, and its tokens are then created on demand.
+     *
+     * @param minRemainingTtl Least time left
+     * @param unit            Unit of the time
+     * @return The token pool
+     */
+    public VaultTokenPool setMinRemainingTtl(final long minRemainingTtl, final TimeUnit unit) {
+        if (minRemainingTtl < 0) {
+            throw new IllegalArgumentException("Min remaining TTL can not be negative.");
+        }
+        this.minRemainingTtlNanos = unit.toNanos(minRemainingTtl);
+        return this;
+    }
+
+    /**
+     * Sets how often expiring tokens are discarded and pools below the low watermark are refilled, in addition to
+     * the refills triggered by taking tokens.
+     *
+     * @param maintenanceInterval Time between maintenance runs
+     * @param unit                Unit of the time
+     * @return The token pool
+     */
+    public VaultTokenPool setMaintenanceInterval(final long maintenanceInterval, final TimeUnit unit) {
+        if (maintenanceInterval <= 0) {
+            throw new IllegalArgumentException("Maintenance interval must be greater than zero.");
+        }
+        this.maintenanceIntervalMillis = unit.toMillis(maintenanceInterval);
+        return this;
+    }
+
+    /**
+     * Sets the max number of token create requests in flight at a time while refilling a pool.
+     *
+     * @param concurrency Max number of requests in flight
+     * @return The token pool
+     */
+    public VaultTokenPool setConcurrency(final int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be greater than zero.");
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Fills the pools in the background and schedules their maintenance.
+     */
+    public void start() {
+        for (final Pool pool : pools.values()) {
+            refillInBackground(pool);
+        }
+
+        scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                maintain();
+            }
+        }, maintenanceIntervalMillis, maintenanceIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Hands out a token from the pool with the specified name, creating one if the pool is empty.
+     *
+     * @param name Name of the pool
+     * @return Auth response with the token and its details
+     * @throws VaultClientException If the pool was empty and the token could not be created
+     */
+    public VaultAuthResponse take(final String name) {
+        final Pool pool = pools.get(name);
+        if (pool == null) {
+            throw new IllegalArgumentException("No token pool named: " + name);
+        }
+
+        PooledToken token;
+        List<String> expiring = null;
+        while ((token = pool.tokens.poll()) != null) {
+            pool.count.decrementAndGet();
+            if (!isExpiring(token)) {
+                break;
+            }
+
+            if (expiring == null) {
+                expiring = new ArrayList<>();
+            }
+            expiring.add(token.auth.getClientToken());
+        }
+
+        if (expiring != null) {
+            revokeInBackground(expiring);
+        }
+
+        if (pool.count.get() <= pool.lowWatermarkCount()) {
+            refillInBackground(pool);
+        }
+
+        if (token != null) {
+            return token.auth;
+        }
+
+        LOGGER.debug("Token pool: {} is empty, creating a token on demand.", name);
+        return vaultClient.createToken(pool.template);
+    }
+
+    /**
+     * Returns the number of tokens in the pool with the specified name.
+     *
+     * @param name Name of the pool
+     * @return Number of pooled tokens
+     */
+    public int getAvailable(final String name) {
+        final Pool pool = pools.get(name);
+        return pool == null ? 0 : pool.count.get();
+    }
+
+    /**
+     * Stops refilling the pools, waits for a refill in progress to finish, and revokes the tokens left in the pools.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(DEFAULT_TIMEOUT, DEFAULT_TIMEOUT_UNIT)) {
+                LOGGER.warn("Timed out waiting for the token pool refills to finish.");
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scheduler.shutdownNow();
+        }
+
+        final List<String> unused = new ArrayList<>();
+        for (final Pool pool : pools.values()) {
+            PooledToken token;
+            while ((token = pool.tokens.poll()) != null) {
+                pool.count.decrementAndGet();
+                unused.add(token.auth.getClientToken());
+            }
+        }
+        revoke(unused);
+    }
+
+    private void maintain() {
+        for (final Pool pool : pools.values()) {
+            final List<String> expiring = new ArrayList<>();
+            final Iterator<PooledToken> iterator = pool.tokens.iterator();
+            while (iterator.hasNext()) {
+                final PooledToken token = iterator.next();
+                if (isExpiring(token) && pool.tokens.remove(token)) {
+                    pool.count.decrementAndGet();
+                    expiring.add(token.auth.getClientToken());
+                }
+            }
+            revoke(expiring);
+
+            if (pool.count.get() <= pool.lowWatermarkCount()) {
+                refillInBackground(pool);
+            }
+        }
+    }
+
+    private void refillInBackground(final Pool pool) {
+        if (pool.expiringOnCreation || !pool.refilling.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        refill(pool);
+                    } finally {
+                        pool.refilling.set(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pool.refilling.set(false);
+        }
+    }
+
+    /**
+     * Creates the missing tokens, at most one round of concurrent requests at a time, so that closing the pool
+     * does not have to wait for a whole refill.  If the new tokens already expire too soon, they are revoked and the
+     * pool is no longer refilled, rather than creating and revoking tokens over and over.
+     */
+    private void refill(final Pool pool) {
+        int missing;
+        while (!closed && (missing = pool.size - pool.count.get()) > 0) {
+            final int batchSize = Math.min(missing, concurrency);
+            final List<VaultCreateTokenResult> results;
+            try {
+                results = vaultClient.createTokens(Collections.nCopies(batchSize, pool.template), concurrency);
+            } catch (VaultClientException e) {
+                LOGGER.warn("Failed to refill the token pool.", e);
+                return;
+            }
+
+            final List<String> late = new ArrayList<>();
+            VaultClientException firstError = null;
+            int failed = 0;
+            for (final VaultCreateTokenResult result : results) {
+                if (result.isSuccessful()) {
+                    final PooledToken token = new PooledToken(result.getAuth());
+                    if (isExpiring(token)) {
+                        pool.expiringOnCreation = true;
+                        late.add(token.auth.getClientToken());
+                        continue;
+                    }
+
+                    pool.tokens.add(token);
+                    pool.count.incrementAndGet();
+
+                    // the pool may have been drained by close() since, in which case the token must be revoked here
+                    if (closed && pool.tokens.remove(token)) {
+                        pool.count.decrementAndGet();
+                        late.add(token.auth.getClientToken());
+                    }
+                } else {
+                    if (firstError == null) {
+                        firstError = result.getError();
+                    }
+                    failed++;
+                }
+            }
+            revoke(late);
+
+            if (pool.expiringOnCreation) {
+                LOGGER.warn("Tokens created for the token pool: {} expire within the min remaining TTL, the pool will "
+                        + "no longer be refilled.  The TTL of the template must be longer than the min remaining TTL.",
+                        pool.name);
+                return;
+            }
+
+            if (failed > 0) {
+                LOGGER.warn("Failed to create {} of {} tokens for the token pool.", failed, batchSize, firstError);
+                return;
+            }
+        }
+    }
+
+    private void revokeInBackground(final List<String> tokens) {
+        try {
+            scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    revoke(tokens);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revoke(tokens);
+        }
+    }
+
+    private void revoke(final List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        try {
+            final VaultRevokeTokensResult result = vaultClient.revokeTokens(tokens);
+            if (!result.getFailed().isEmpty()) {
+                LOGGER.warn("Failed to revoke {} of {} tokens of the token pool.", result.getFailed().size(),
+                        tokens.size(), result.getFailed().values().iterator().next());
+            }
+        } catch (VaultClientException e) {
+            LOGGER.warn("Failed to revoke tokens of the token pool.", e);
+        }
+    }
+
+    private boolean isExpiring(final PooledToken token) {
+        return token.expires && token.expiresAtNanos - System.nanoTime() < minRemainingTtlNanos;
+    }
+
+    private final class Pool {
+
+        private final String name;
+
+        private final VaultTokenAuthRequest template;
+
+        private final int size;
+
+        private final Queue<PooledToken> tokens = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final AtomicBoolean refilling = new AtomicBoolean();
+
+        private volatile boolean expiringOnCreation;
+
+        private Pool(final String name, final VaultTokenAuthRequest template, final int size) {
+            this.name = name;
+            this.template = template;
+            this.size = size;
+        }
+
+        private int lowWatermarkCount() {
+            return (int) (size * lowWatermark);
+        }
+    }
+
+    private static final class PooledToken {
+
+        private final VaultAuthResponse auth;
+
+        private final boolean expires;
+
+        private final long expiresAtNanos;
+
+        private PooledToken(final VaultAuthResponse auth) {
+            this.auth = auth;
+            this.expires = auth.getLeaseDuration() > 0;
+            this.expiresAtNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(auth.getLeaseDuration());
+        }
+    }
+}
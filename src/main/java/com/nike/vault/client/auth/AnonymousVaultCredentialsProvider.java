@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+/**
+ * {@link VaultCredentialsProvider} implementation that provides no token.  Used for calling Vault endpoints
+ * that do not require authentication, such as <code>sys/health</code>, <code>sys/leader</code> and the
+ * login endpoints of the auth backends.
+ */
+public class AnonymousVaultCredentialsProvider implements VaultCredentialsProvider {
+
+    private static final VaultCredentials NO_CREDENTIALS = new TokenVaultCredentials(null);
+
+    /**
+     * Returns credentials without a token.
+     *
+     * @return credentials
+     */
+    @Override
+    public VaultCredentials getCredentials() {
+        return NO_CREDENTIALS;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+import com.nike.vault.client.UrlResolver;
+import com.nike.vault.client.VaultClient;
+import com.nike.vault.client.model.VaultAppRoleLoginRequest;
+import com.nike.vault.client.model.VaultAuthResponse;
+import okhttp3.OkHttpClient;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * {@link LoginVaultCredentialsProvider} implementation that logs in with the AppRole auth backend, via
+ * <code>auth/approle/login</code>.
+ * <pre>
+ *     final AppRoleVaultCredentialsProvider credentialsProvider =
+ *             new AppRoleVaultCredentialsProvider(urlResolver, roleId, secretId);
+ *     final VaultClient vaultClient = VaultClientFactory.getClient(urlResolver, credentialsProvider);
+ * </pre>
+ */
+public class AppRoleVaultCredentialsProvider extends LoginVaultCredentialsProvider {
+
+    public static final String DEFAULT_MOUNT_PATH = "approle";
+
+    private final String loginPath;
+
+    private final VaultAppRoleLoginRequest loginRequest;
+
+    /**
+     * Explicit constructor that takes the role and secret IDs, logging in with the AppRole backend mounted at the
+     * default path.
+     *
+     * @param vaultUrlResolver URL resolver for Vault
+     * @param roleId           Role ID
+     * @param secretId         Secret ID, or null if the role does not require one
+     */
+    public AppRoleVaultCredentialsProvider(final UrlResolver vaultUrlResolver,
+                                           final String roleId,
+                                           final String secretId) {
+        super(vaultUrlResolver);
+        this.loginPath = buildLoginPath(DEFAULT_MOUNT_PATH);
+        this.loginRequest = buildLoginRequest(roleId, secretId);
+    }
+
+    /**
+     * Explicit constructor that allows for full control over the mount path and HTTP client.
+     *
+     * @param vaultUrlResolver URL resolver for Vault
+     * @param httpClient       HTTP client for calling Vault
+     * @param mountPath        Path the AppRole backend is mounted at
+     * @param roleId           Role ID
+     * @param secretId         Secret ID, or null if the role does not require one
+     */
+    public AppRoleVaultCredentialsProvider(final UrlResolver vaultUrlResolver,
+                                           final OkHttpClient httpClient,
+                                           final String mountPath,
+                                           final String roleId,
+                                           final String secretId) {
+        super(vaultUrlResolver, httpClient);
+        this.loginPath = buildLoginPath(mountPath);
+        this.loginRequest = buildLoginRequest(roleId, secretId);
+    }
+
+    @Override
+    protected VaultAuthResponse login(final VaultClient vaultClient) {
+        return vaultClient.login(loginPath, loginRequest);
+    }
+
+    private static String buildLoginPath(final String mountPath) {
+        if (StringUtils.isBlank(mountPath)) {
+            throw new IllegalArgumentException("Mount path can not be blank.");
+        }
+
+        return StringUtils.strip(mountPath, "/") + "/login";
+    }
+
+    private static VaultAppRoleLoginRequest buildLoginRequest(final String roleId, final String secretId) {
+        if (StringUtils.isBlank(roleId)) {
+            throw new IllegalArgumentException("Role ID can not be blank.");
+        }
+
+        return new VaultAppRoleLoginRequest(roleId, secretId);
+    }
+}
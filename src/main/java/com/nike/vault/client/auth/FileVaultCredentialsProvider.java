@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+import com.nike.vault.client.DaemonThreadFactory;
+import com.nike.vault.client.VaultClientException;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link VaultCredentialsProvider} implementation that reads the token from a file, such as the sink file written
+ * by a Vault Agent.  The file is read once when the provider is created and, once {@link #start()} is called,
+ * watched for changes so that a new token is swapped in as soon as it is written.  {@link #getCredentials()} only
+ * returns the token held in memory and does no I/O.
+ * <p>
+ * Changes are picked up via a {@link WatchService} on the file's directory.  In addition, and in place of the watch
+ * service where the file system does not support one, the file's modification time is checked every poll interval.
+ * </p>
+ */
+public class FileVaultCredentialsProvider implements RefreshableVaultCredentialsProvider, Closeable {
+
+    public static final long DEFAULT_POLL_INTERVAL = 5;
+
+    public static final TimeUnit DEFAULT_POLL_INTERVAL_UNIT = TimeUnit.SECONDS;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileVaultCredentialsProvider.class);
+
+    private final Path tokenFile;
+
+    private final long pollIntervalMillis;
+
+    private final boolean watch;
+
+    private final ExecutorService executor;
+
+    private volatile VaultCredentials credentials;
+
+    private volatile FileTime lastModified;
+
+    private volatile WatchService watchService;
+
+    /**
+     * Explicit constructor that takes the path of the token file, using the default poll interval.
+     *
+     * @param tokenFile Path of the token file
+     * @throws VaultClientException If the file could not be read or is empty
+     */
+    public FileVaultCredentialsProvider(final String tokenFile) {
+        this(Paths.get(tokenFile), DEFAULT_POLL_INTERVAL, DEFAULT_POLL_INTERVAL_UNIT);
+    }
+
+    /**
+     * Explicit constructor that allows for full control over how often the file is checked for changes.
+     *
+     * @param tokenFile        Path of the token file
+     * @param pollInterval     Time between checks of the file's modification time
+     * @param pollIntervalUnit Unit of the time between checks
+     * @throws VaultClientException If the file could not be read or is empty
+     */
+    public FileVaultCredentialsProvider(final Path tokenFile, final long pollInterval, final TimeUnit pollIntervalUnit) {
+        this(tokenFile, pollInterval, pollIntervalUnit, true);
+    }
+
+    FileVaultCredentialsProvider(final Path tokenFile,
+                                 final long pollInterval,
+                                 final TimeUnit pollIntervalUnit,
+                                 final boolean watch) {
+        if (tokenFile == null) {
+            throw new IllegalArgumentException("Token file can not be null.");
+        }
+
+        if (pollInterval <= 0 || pollIntervalUnit == null) {
+            throw new IllegalArgumentException("Poll interval must be greater than zero.");
+        }
+
+        this.tokenFile = tokenFile.toAbsolutePath();
+        this.pollIntervalMillis = pollIntervalUnit.toMillis(pollInterval);
+        this.watch = watch;
+        this.executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory("vault-token-file-watch"));
+
+        refresh();
+    }
+
+    /**
+     * Starts watching the token file for changes.
+     */
+    public void start() {
+        if (watch) {
+            try {
+                watchService = FileSystems.getDefault().newWatchService();
+                tokenFile.getParent().register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            } catch (IOException | UnsupportedOperationException e) {
+                LOGGER.info("Unable to watch the Vault token file: {}, falling back to polling.", tokenFile, e);
+                closeWatchService();
+            }
+        }
+
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                watchTokenFile();
+            }
+        });
+    }
+
+    /**
+     * Stops watching the token file.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        closeWatchService();
+    }
+
+    /**
+     * Returns the token last read from the file.
+     *
+     * @return credentials
+     */
+    @Override
+    public VaultCredentials getCredentials() {
+        return credentials;
+    }
+
+    /**
+     * Reads the token file again.
+     *
+     * @throws VaultClientException If the file could not be read or is empty
+     */
+    @Override
+    public void refresh() {
+        try {
+            final FileTime modified = Files.getLastModifiedTime(tokenFile);
+            final String token = new String(Files.readAllBytes(tokenFile), StandardCharsets.UTF_8).trim();
+
+            if (StringUtils.isBlank(token)) {
+                throw new VaultClientException("Vault token file is empty: " + tokenFile);
+            }
+
+            lastModified = modified;
+            final VaultCredentials current = credentials;
+            if (current == null || !token.equals(current.getToken())) {
+                credentials = new TokenVaultCredentials(token);
+                LOGGER.debug("Read the Vault token from: {}", tokenFile);
+            }
+        } catch (IOException e) {
+            throw new VaultClientException("Unable to read the Vault token file: " + tokenFile, e);
+        }
+    }
+
+    private void watchTokenFile() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                final WatchService service = watchService;
+                if (service != null) {
+                    final WatchKey key = service.poll(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                    if (key != null) {
+                        // any change in the directory may be the file being replaced, e.g. via a symlink swap
+                        key.pollEvents();
+                        key.reset();
+                        refreshQuietly();
+                        continue;
+                    }
+                } else {
+                    Thread.sleep(pollIntervalMillis);
+                }
+
+                if (isModified()) {
+                    refreshQuietly();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+        }
+    }
+
+    private boolean isModified() {
+        try {
+            return !Files.getLastModifiedTime(tokenFile).equals(lastModified);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (VaultClientException e) {
+            LOGGER.warn("Failed to read the Vault token file, keeping the current token.", e);
+        }
+    }
+
+    private void closeWatchService() {
+        final WatchService service = watchService;
+        watchService = null;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                LOGGER.debug("Failed to close the watch service.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes when a token is refreshed in the background, so that many clients holding tokens with the same lease
+ * do not all call Vault at the same moment.
+ */
+final class JitteredDelay {
+
+    private JitteredDelay() {
+    }
+
+    /**
+     * Returns a random delay between <code>fraction * (1 - jitter)</code> and <code>fraction</code> of the lease.
+     *
+     * @param leaseSeconds   Lease of the token
+     * @param fraction       Fraction of the lease after which the token is refreshed
+     * @param jitter         Fraction the refresh is randomly brought forward by
+     * @param minDelayMillis Shortest delay returned
+     * @return Delay in milliseconds
+     */
+    static long getDelayMillis(final int leaseSeconds,
+                               final double fraction,
+                               final double jitter,
+                               final long minDelayMillis) {
+        final double jittered = fraction * (1 - jitter * ThreadLocalRandom.current().nextDouble());
+        return Math.max(minDelayMillis, (long) (TimeUnit.SECONDS.toMillis(leaseSeconds) * jittered));
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+import com.nike.vault.client.UrlResolver;
+import com.nike.vault.client.VaultClient;
+import com.nike.vault.client.VaultClientException;
+import com.nike.vault.client.model.VaultAuthResponse;
+import com.nike.vault.client.model.VaultKubernetesLoginRequest;
+import okhttp3.OkHttpClient;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * {@link LoginVaultCredentialsProvider} implementation that logs in with the Kubernetes auth backend, via
+ * <code>auth/kubernetes/login</code>, using the pod's service account JWT.
+ * <p>
+ * The JWT is cached and only read again once the file has been modified, e.g. when Kubernetes rotates a projected
+ * service account token.
+ * </p>
+ * <pre>
+ *     final KubernetesVaultCredentialsProvider credentialsProvider =
+ *             new KubernetesVaultCredentialsProvider(urlResolver, "my-role");
+ *     final VaultClient vaultClient = VaultClientFactory.getClient(urlResolver, credentialsProvider);
+ * </pre>
+ */
+public class KubernetesVaultCredentialsProvider extends LoginVaultCredentialsProvider {
+
+    public static final String DEFAULT_MOUNT_PATH = "kubernetes";
+
+    public static final String DEFAULT_JWT_PATH = "/var/run/secrets/kubernetes.io/serviceaccount/token";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KubernetesVaultCredentialsProvider.class);
+
+    private final String loginPath;
+
+    private final String role;
+
+    private final Path jwtFile;
+
+    private volatile CachedJwt cachedJwt;
+
+    /**
+     * Explicit constructor that takes the role, logging in with the Kubernetes backend mounted at the default path
+     * and the service account JWT at the default path.
+     *
+     * @param vaultUrlResolver URL resolver for Vault
+     * @param role             Role to log in as
+     */
+    public KubernetesVaultCredentialsProvider(final UrlResolver vaultUrlResolver, final String role) {
+        super(vaultUrlResolver);
+        this.loginPath = buildLoginPath(DEFAULT_MOUNT_PATH);
+        this.role = validateRole(role);
+        this.jwtFile = Paths.get(DEFAULT_JWT_PATH);
+    }
+
+    /**
+     * Explicit constructor that allows for full control over the mount path, JWT path and HTTP client.
+     *
+     * @param vaultUrlResolver URL resolver for Vault
+     * @param httpClient       HTTP client for calling Vault
+     * @param mountPath        Path the Kubernetes backend is mounted at
+     * @param role             Role to log in as
+     * @param jwtFile          Path of the service account JWT
+     */
+    public KubernetesVaultCredentialsProvider(final UrlResolver vaultUrlResolver,
+                                              final OkHttpClient httpClient,
+                                              final String mountPath,
+                                              final String role,
+                                              final Path jwtFile) {
+        super(vaultUrlResolver, httpClient);
+        if (jwtFile == null) {
+            throw new IllegalArgumentException("JWT file can not be null.");
+        }
+
+        this.loginPath = buildLoginPath(mountPath);
+        this.role = validateRole(role);
+        this.jwtFile = jwtFile;
+    }
+
+    /**
+     * Reads the JWT again and logs in again, unless another thread is already logging in.
+     *
+     * @throws VaultClientException If the JWT could not be read or logging in failed
+     */
+    @Override
+    public void refresh() {
+        cachedJwt = null;
+        super.refresh();
+    }
+
+    @Override
+    protected VaultAuthResponse login(final VaultClient vaultClient) {
+        return vaultClient.login(loginPath, new VaultKubernetesLoginRequest(role, readJwt()));
+    }
+
+    private String readJwt() {
+        try {
+            final FileTime modified = Files.getLastModifiedTime(jwtFile);
+            final CachedJwt current = cachedJwt;
+            if (current != null && current.modified.equals(modified)) {
+                return current.jwt;
+            }
+
+            final String jwt = new String(Files.readAllBytes(jwtFile), StandardCharsets.UTF_8).trim();
+            if (StringUtils.isBlank(jwt)) {
+                throw new VaultClientException("Service account JWT file is empty: " + jwtFile);
+            }
+
+            cachedJwt = new CachedJwt(modified, jwt);
+            LOGGER.debug("Read the service account JWT from: {}", jwtFile);
+            return jwt;
+        } catch (IOException e) {
+            throw new VaultClientException("Unable to read the service account JWT file: " + jwtFile, e);
+        }
+    }
+
+    private static String buildLoginPath(final String mountPath) {
+        if (StringUtils.isBlank(mountPath)) {
+            throw new IllegalArgumentException("Mount path can not be blank.");
+        }
+
+        return StringUtils.strip(mountPath, "/") + "/login";
+    }
+
+    private static String validateRole(final String role) {
+        if (StringUtils.isBlank(role)) {
+            throw new IllegalArgumentException("Role can not be blank.");
+        }
+
+        return role;
+    }
+
+    private static final class CachedJwt {
+
+        private final FileTime modified;
+
+        private final String jwt;
+
+        private CachedJwt(final FileTime modified, final String jwt) {
+            this.modified = modified;
+            this.jwt = jwt;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+import com.nike.vault.client.DaemonThreadFactory;
+import com.nike.vault.client.UrlResolver;
+import com.nike.vault.client.VaultClient;
+import com.nike.vault.client.VaultClientException;
+import com.nike.vault.client.VaultClientFactory;
+import com.nike.vault.client.model.VaultAuthResponse;
+import okhttp3.OkHttpClient;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class for credentials providers that log in to a Vault auth backend and cache the token in memory.
+ * <p>
+ * The first call to {@link #getCredentials()} logs in.  After that, a new login is made in the background once a
+ * jittered fraction of the token's lease has passed, so that callers keep getting the cached token without waiting
+ * on a login round trip.  Only when there is no token, or it has expired, does {@link #getCredentials()} log in
+ * itself.  Concurrent callers always share a single login.
+ * </p>
+ */
+public abstract class LoginVaultCredentialsProvider implements RefreshableVaultCredentialsProvider, Closeable {
+
+    public static final double DEFAULT_REFRESH_FRACTION = 2.0 / 3.0;
+
+    public static final double DEFAULT_JITTER = 0.1;
+
+    /**
+     * Minimum time between background logins, so a token with a very short lease does not cause a login storm.
+     */
+    public static final long MIN_REFRESH_DELAY_MILLIS = 500;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoginVaultCredentialsProvider.class);
+
+    private final VaultClient vaultClient;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Object loginLock = new Object();
+
+    private volatile double refreshFraction = DEFAULT_REFRESH_FRACTION;
+
+    private volatile double jitter = DEFAULT_JITTER;
+
+    private volatile CachedToken cachedToken;
+
+    /**
+     * Constructor that uses an HTTP client with the default timeouts for logging in.
+     *
+     * @param vaultUrlResolver URL resolver for Vault
+     */
+    protected LoginVaultCredentialsProvider(final UrlResolver vaultUrlResolver) {
+        this(vaultUrlResolver, VaultClientFactory.buildDefaultHttpClient());
+    }
+
+    /**
+     * Constructor that allows for full control over the HTTP client used for logging in.
+     *
+     * @param vaultUrlResolver URL resolver for Vault
+     * @param httpClient       HTTP client for calling Vault
+     */
+    protected LoginVaultCredentialsProvider(final UrlResolver vaultUrlResolver, final OkHttpClient httpClient) {
+        this.vaultClient = new VaultClient(vaultUrlResolver, new AnonymousVaultCredentialsProvider(), httpClient);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("vault-login"));
+    }
+
+    /**
+     * Logs in to the auth backend.
+     *
+     * @param vaultClient Vault client without a token
+     * @return Auth response with the token and its lease duration
+     */
+    protected abstract VaultAuthResponse login(VaultClient vaultClient);
+
+    /**
+     * Sets when a new token is acquired in the background.  Each login is scheduled at a random point between
+     * <code>fraction * (1 - jitter)</code> and <code>fraction</code> of the token's lease.
+     *
+     * @param fraction Fraction of the lease after which a new token is acquired, between zero and one
+     * @param jitter   Fraction the login is randomly brought forward by, between zero and one
+     * @return The credentials provider
+     */
+    public LoginVaultCredentialsProvider setRefreshFraction(final double fraction, final double jitter) {
+        if (fraction <= 0 || fraction >= 1) {
+            throw new IllegalArgumentException("Refresh fraction must be between zero and one.");
+        }
+
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("Jitter must be at least zero and less than one.");
+        }
+
+        this.refreshFraction = fraction;
+        this.jitter = jitter;
+        return this;
+    }
+
+    /**
+     * Returns the cached token, logging in first if there is none or it has expired.
+     *
+     * @return credentials
+     * @throws VaultClientException If logging in failed
+     */
+    @Override
+    public VaultCredentials getCredentials() {
+        CachedToken token = cachedToken;
+        if (token == null || token.isExpired()) {
+            token = login(token);
+        }
+        return token.credentials;
+    }
+
+    /**
+     * Logs in again, unless another thread is already doing so, in which case its token is used.
+     *
+     * @throws VaultClientException If logging in failed
+     */
+    @Override
+    public void refresh() {
+        login(cachedToken);
+    }
+
+    /**
+     * Stops logging in in the background.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Logs in and caches the token, unless the cached token has been replaced since the caller read it.
+     */
+    private CachedToken login(final CachedToken staleToken) {
+        synchronized (loginLock) {
+            final CachedToken current = cachedToken;
+            if (current != null && current != staleToken && !current.isExpired()) {
+                return current;
+            }
+
+            final VaultAuthResponse auth = login(vaultClient);
+            if (auth == null || StringUtils.isBlank(auth.getClientToken())) {
+                throw new VaultClientException("Vault did not return a token for the login.");
+            }
+
+            final CachedToken token = new CachedToken(auth);
+            cachedToken = token;
+
+            if (auth.getLeaseDuration() > 0) {
+                schedule(token, getRefreshDelayMillis(auth.getLeaseDuration()));
+            }
+            return token;
+        }
+    }
+
+    private void refreshInBackground(final CachedToken staleToken) {
+        try {
+            login(staleToken);
+        } catch (VaultClientException e) {
+            final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(staleToken.expiresAtNanos - System.nanoTime());
+            if (remainingMillis > 0) {
+                LOGGER.warn("Failed to log in to Vault, retrying with {} ms left before the token expires.",
+                        remainingMillis, e);
+                schedule(staleToken, Math.max(MIN_REFRESH_DELAY_MILLIS, remainingMillis / 2));
+            } else {
+                LOGGER.error("Failed to log in to Vault before the token expired.", e);
+            }
+        }
+    }
+
+    private void schedule(final CachedToken token, final long delayMillis) {
+        try {
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    refreshInBackground(token);
+                }
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Credentials provider is closed, the token will not be refreshed in the background.");
+        }
+    }
+
+    private long getRefreshDelayMillis(final int leaseSeconds) {
+        return JitteredDelay.getDelayMillis(leaseSeconds, refreshFraction, jitter, MIN_REFRESH_DELAY_MILLIS);
+    }
+
+    private static final class CachedToken {
+
+        private final VaultCredentials credentials;
+
+        private final long expiresAtNanos;
+
+        private final boolean expires;
+
+        private CachedToken(final VaultAuthResponse auth) {
+            this.credentials = new TokenVaultCredentials(auth.getClientToken());
+            this.expires = auth.getLeaseDuration() > 0;
+            this.expiresAtNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(auth.getLeaseDuration());
+        }
+
+        private boolean isExpired() {
+            return expires && System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+}
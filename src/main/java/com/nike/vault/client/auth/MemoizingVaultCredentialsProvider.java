@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * {@link VaultCredentialsProvider} implementation that asks another provider for credentials once and returns them
+ * from memory after that.  Providers such as {@link EnvironmentVaultCredentialsProvider} and
+ * {@link SystemPropertyVaultCredentialsProvider} look the token up on every call, even though it does not change
+ * while the application runs.  Call {@link #refresh()} when it does.
+ */
+public class MemoizingVaultCredentialsProvider implements RefreshableVaultCredentialsProvider {
+
+    private final VaultCredentialsProvider delegate;
+
+    private volatile VaultCredentials credentials;
+
+    /**
+     * Explicit constructor that takes the provider to memoize.
+     *
+     * @param delegate Provider of the credentials
+     */
+    public MemoizingVaultCredentialsProvider(final VaultCredentialsProvider delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate credentials provider can not be null.");
+        }
+
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the memoized credentials, asking the delegate for them if there are none yet.  Credentials without a
+     * token are not memoized.
+     *
+     * @return credentials
+     */
+    @Override
+    public VaultCredentials getCredentials() {
+        VaultCredentials current = credentials;
+        if (current == null) {
+            current = delegate.getCredentials();
+            if (current != null && StringUtils.isNotBlank(current.getToken())) {
+                credentials = current;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Discards the memoized credentials, so the next call to {@link #getCredentials()} asks the delegate again.
+     */
+    @Override
+    public void refresh() {
+        credentials = null;
+        if (delegate instanceof RefreshableVaultCredentialsProvider) {
+            ((RefreshableVaultCredentialsProvider) delegate).refresh();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+/**
+ * Interface for credentials providers that cache the token they acquire and can be told to acquire a new one,
+ * e.g. when Vault no longer accepts the cached token.
+ */
+public interface RefreshableVaultCredentialsProvider extends VaultCredentialsProvider {
+
+    /**
+     * Discards the cached token and acquires a new one.
+     */
+    void refresh();
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+import com.nike.vault.client.DaemonThreadFactory;
+import com.nike.vault.client.UrlResolver;
+import com.nike.vault.client.VaultClient;
+import com.nike.vault.client.VaultClientException;
+import com.nike.vault.client.VaultClientFactory;
+import com.nike.vault.client.model.VaultAuthResponse;
+import com.nike.vault.client.model.VaultClientTokenResponse;
+import okhttp3.OkHttpClient;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link VaultCredentialsProvider} implementation that keeps a renewable token alive.  Once {@link #start()} is
+ * called, the TTL of the token from the delegate provider is looked up and the token is renewed via
+ * <code>auth/token/renew-self</code> in the background, at a jittered fraction of its TTL, for as long as Vault
+ * allows it.  {@link #getCredentials()} only returns the token held in memory, so request threads never wait on a
+ * renewal.
+ * <p>
+ * If a renewal fails, it is retried at half of the time left before the token expires.  Once the token has
+ * expired, credentials are taken from the delegate provider again, and as soon as it returns a different token,
+ * that token is looked up and renewed in the background.
+ * </p>
+ * <pre>
+ *     final RenewingVaultCredentialsProvider credentialsProvider =
+ *             new RenewingVaultCredentialsProvider(urlResolver, new DefaultVaultCredentialsProviderChain());
+ *     credentialsProvider.start();
+ *     final VaultClient vaultClient = VaultClientFactory.getClient(urlResolver, credentialsProvider);
+ * </pre>
+ */
+public class RenewingVaultCredentialsProvider implements VaultCredentialsProvider, Closeable {
+
+    public static final double DEFAULT_RENEW_FRACTION = 2.0 / 3.0;
+
+    public static final double DEFAULT_JITTER = 0.1;
+
+    /**
+     * Minimum time between renewal attempts, so a token with a very short TTL does not cause a renewal storm.
+     */
+    public static final long MIN_RENEW_DELAY_MILLIS = 500;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RenewingVaultCredentialsProvider.class);
+
+    private final VaultCredentialsProvider delegate;
+
+    private final VaultClient vaultClient;
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile double renewFraction = DEFAULT_RENEW_FRACTION;
+
+    private volatile double jitter = DEFAULT_JITTER;
+
+    private volatile VaultCredentials credentials;
+
+    private volatile long expiresAtNanos;
+
+    private volatile String expiredToken;
+
+    private volatile long lastRestartNanos;
+
+    private final AtomicBoolean restarting = new AtomicBoolean();
+
+    /**
+     * Explicit constructor that takes the provider of the token to renew, using an HTTP client with the default
+     * timeouts for the renewals.
+     *
+     * @param vaultUrlResolver URL resolver for Vault
+     * @param delegate         Provider of the token to renew
+     */
+    public RenewingVaultCredentialsProvider(final UrlResolver vaultUrlResolver,
+                                            final VaultCredentialsProvider delegate) {
+        this(vaultUrlResolver, delegate, VaultClientFactory.buildDefaultHttpClient());
+    }
+
+    /**
+     * Explicit constructor that allows for full control over the HTTP client used for the renewals.
+     *
+     * @param vaultUrlResolver URL resolver for Vault
+     * @param delegate         Provider of the token to renew
+     * @param httpClient       HTTP client for calling Vault
+     */
+    public RenewingVaultCredentialsProvider(final UrlResolver vaultUrlResolver,
+                                            final VaultCredentialsProvider delegate,
+                                            final OkHttpClient httpClient) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate credentials provider can not be null.");
+        }
+
+        this.delegate = delegate;
+        this.vaultClient = new VaultClient(vaultUrlResolver, this, httpClient);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("vault-token-renewal"));
+    }
+
+    /**
+     * Sets when the token is renewed.  Each renewal is scheduled at a random point between
+     * <code>fraction * (1 - jitter)</code> and <code>fraction</code> of the token's TTL, so that many clients
+     * started at the same time do not renew in lockstep.
+     *
+     * @param fraction Fraction of the TTL after which the token is renewed, between zero and one
+     * @param jitter   Fraction the renewal time is randomly brought forward by, between zero and one
+     * @return The credentials provider
+     */
+    public RenewingVaultCredentialsProvider setRenewFraction(final double fraction, final double jitter) {
+        if (fraction <= 0 || fraction >= 1) {
+            throw new IllegalArgumentException("Renew fraction must be between zero and one.");
+        }
+
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("Jitter must be at least zero and less than one.");
+        }
+
+        this.renewFraction = fraction;
+        this.jitter = jitter;
+        return this;
+    }
+
+    /**
+     * Gets the token from the delegate provider, looks up its TTL and, if it is renewable, schedules its renewal.
+     *
+     * @throws VaultClientException If the token could not be looked up
+     */
+    public void start() {
+        credentials = delegate.getCredentials();
+
+        final VaultClientTokenResponse token = vaultClient.lookupSelf();
+        expiresAtNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(token.getTtl());
+
+        if (token.isRenewable() && token.getTtl() > 0) {
+            schedule(getRenewDelayMillis(token.getTtl()));
+        } else {
+            LOGGER.info("Vault token is not renewable, it will not be renewed.");
+            scheduleExpiry();
+        }
+    }
+
+    /**
+     * Stops renewing the token.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Renews the token now and keeps the token Vault returns.
+     *
+     * @return Auth response with the token and its new lease duration
+     * @throws VaultClientException If the token could not be renewed
+     */
+    public VaultAuthResponse renew() {
+        final VaultAuthResponse auth = vaultClient.renewSelf();
+
+        if (auth == null) {
+            throw new VaultClientException("Vault did not return the renewed token.");
+        }
+
+        if (StringUtils.isNotBlank(auth.getClientToken())) {
+            credentials = new TokenVaultCredentials(auth.getClientToken());
+        }
+        expiresAtNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(auth.getLeaseDuration());
+        return auth;
+    }
+
+    /**
+     * Returns the token held in memory, or the delegate's credentials if there is none.
+     *
+     * @return credentials
+     */
+    @Override
+    public VaultCredentials getCredentials() {
+        final VaultCredentials current = credentials;
+        if (current != null) {
+            return current;
+        }
+
+        final VaultCredentials delegated = delegate.getCredentials();
+        final String expired = expiredToken;
+        if (expired != null && delegated != null && !expired.equals(delegated.getToken())) {
+            restartInBackground();
+        }
+        return delegated;
+    }
+
+    private void renewAndReschedule() {
+        try {
+            final VaultAuthResponse auth = renew();
+            if (auth.isRenewable() && auth.getLeaseDuration() > 0) {
+                schedule(getRenewDelayMillis(auth.getLeaseDuration()));
+            } else {
+                LOGGER.info("Vault token is no longer renewable, it will not be renewed again.");
+                scheduleExpiry();
+            }
+        } catch (VaultClientException e) {
+            final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime());
+            if (remainingMillis > 0) {
+                LOGGER.warn("Failed to renew the Vault token, retrying with {} ms left before it expires.",
+                        remainingMillis, e);
+                schedule(Math.max(MIN_RENEW_DELAY_MILLIS, remainingMillis / 2));
+            } else {
+                LOGGER.error("Failed to renew the Vault token before it expired.", e);
+                expire();
+            }
+        }
+    }
+
+    /**
+     * Drops the expired token, so that credentials are taken from the delegate provider again.
+     */
+    private void expire() {
+        final VaultCredentials current = credentials;
+        if (current != null) {
+            expiredToken = current.getToken();
+        }
+        credentials = null;
+    }
+
+    private void scheduleExpiry() {
+        final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime());
+        if (remainingMillis <= 0) {
+            return;
+        }
+
+        try {
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    expire();
+                }
+            }, remainingMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Credentials provider is closed, not scheduling the token expiry.");
+        }
+    }
+
+    /**
+     * Starts renewing the delegate's new token, at most once per {@link #MIN_RENEW_DELAY_MILLIS}.
+     */
+    private void restartInBackground() {
+        if (System.nanoTime() - lastRestartNanos < TimeUnit.MILLISECONDS.toNanos(MIN_RENEW_DELAY_MILLIS)
+                || !restarting.compareAndSet(false, true)) {
+            return;
+        }
+
+        lastRestartNanos = System.nanoTime();
+        try {
+            scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start();
+                        expiredToken = null;
+                        LOGGER.info("Renewing the new Vault token from the delegate credentials provider.");
+                    } catch (VaultClientException e) {
+                        LOGGER.warn("Failed to look up the new Vault token from the delegate credentials provider.", e);
+                        credentials = null;
+                    } finally {
+                        restarting.set(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            restarting.set(false);
+        }
+    }
+
+    private void schedule(final long delayMillis) {
+        try {
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    renewAndReschedule();
+                }
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Credentials provider is closed, the token will not be renewed.");
+        }
+    }
+
+    private long getRenewDelayMillis(final int ttlSeconds) {
+        return JitteredDelay.getDelayMillis(ttlSeconds, renewFraction, jitter, MIN_RENEW_DELAY_MILLIS);
+    }
+}
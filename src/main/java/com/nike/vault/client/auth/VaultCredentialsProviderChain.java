@@ -34,14 +34,14 @@ import java.util.List;
  * This pattern and a majority of the implementation are based on the Java AWS SDK AWSCredentialsProviderChain.
  * </p>
  */
-public class VaultCredentialsProviderChain implements VaultCredentialsProvider {
+public class VaultCredentialsProviderChain implements RefreshableVaultCredentialsProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(VaultCredentialsProviderChain.class);
 
     private final List<VaultCredentialsProvider> credentialsProviderList = new LinkedList<>();
 
     private boolean reuseLastProvider = true;
-    private VaultCredentialsProvider lastUsedProvider;
+    private volatile VaultCredentialsProvider lastUsedProvider;
 
     /**
      * Explicit constructor that takes a list of providers to use.
@@ -111,6 +111,18 @@ public class VaultCredentialsProviderChain implements VaultCredentialsProvider {
         throw new VaultClientException("Unable to find credentials from any provider in the specified chain!");
     }
 
+    /**
+     * Refreshes the last successful provider, if it can be refreshed, and forgets it so that the next call to
+     * {@link #getCredentials()} iterates over the chain again.
+     */
+    @Override
+    public void refresh() {
+        final VaultCredentialsProvider provider = lastUsedProvider;
+        lastUsedProvider = null;
+        if (provider instanceof RefreshableVaultCredentialsProvider) {
+            ((RefreshableVaultCredentialsProvider) provider).refresh();
+        }
+    }
 
     /**
      * Returns the reuse last provider flag.
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import okhttp3.Dns;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DNS resolver that caches the addresses looked up by another resolver, and failed lookups, in process.  Share one
+ * instance between HTTP clients so that they share the cache.
+ */
+public class CachingDns implements Dns {
+
+    public static final long DEFAULT_POSITIVE_TTL_SECONDS = 30;
+
+    public static final long DEFAULT_NEGATIVE_TTL_SECONDS = 5;
+
+    private final Dns delegate;
+
+    private final long positiveTtlNanos;
+
+    private final long negativeTtlNanos;
+
+    private final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor that caches lookups made by the system resolver, with the default TTLs.
+     */
+    public CachingDns() {
+        this(Dns.SYSTEM, DEFAULT_POSITIVE_TTL_SECONDS, DEFAULT_NEGATIVE_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Explicit constructor that allows for full control over the cache.
+     *
+     * @param delegate    Resolver that looks up the addresses
+     * @param positiveTtl Time addresses are cached for
+     * @param negativeTtl Time failed lookups are cached for, zero to not cache them
+     * @param unit        Unit of the times
+     */
+    public CachingDns(final Dns delegate, final long positiveTtl, final long negativeTtl, final TimeUnit unit) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate DNS can not be null.");
+        }
+
+        if (positiveTtl < 0 || negativeTtl < 0) {
+            throw new IllegalArgumentException("TTLs can not be negative.");
+        }
+
+        this.delegate = delegate;
+        this.positiveTtlNanos = unit.toNanos(positiveTtl);
+        this.negativeTtlNanos = unit.toNanos(negativeTtl);
+    }
+
+    @Override
+    public List<InetAddress> lookup(final String hostname) throws UnknownHostException {
+        final long now = System.nanoTime();
+        final Entry cached = cache.get(hostname);
+
+        if (cached != null && now - cached.expiresAtNanos < 0) {
+            if (cached.addresses == null) {
+                throw new UnknownHostException(cached.failureMessage);
+            }
+            return cached.addresses;
+        }
+
+        try {
+            final List<InetAddress> addresses =
+                    Collections.unmodifiableList(new ArrayList<>(delegate.lookup(hostname)));
+            if (positiveTtlNanos > 0) {
+                cache.put(hostname, new Entry(addresses, null, now + positiveTtlNanos));
+            }
+            return addresses;
+        } catch (UnknownHostException e) {
+            if (negativeTtlNanos > 0) {
+                cache.put(hostname, new Entry(null, e.getMessage(), now + negativeTtlNanos));
+            } else {
+                cache.remove(hostname);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Removes all cached lookups.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private static final class Entry {
+
+        private final List<InetAddress> addresses;
+
+        private final String failureMessage;
+
+        private final long expiresAtNanos;
+
+        private Entry(final List<InetAddress> addresses, final String failureMessage, final long expiresAtNanos) {
+            this.addresses = addresses;
+            this.failureMessage = failureMessage;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client interceptor that keeps a circuit breaker for each Vault node, as configured by a
+ * {@link CircuitBreakerPolicy}.  Calls to a node whose circuit is open fail fast with a
+ * {@link CircuitBreakerOpenException} instead of waiting for the node to time out.
+ * <pre>
+ *     final OkHttpClient httpClient = new OkHttpClient.Builder()
+ *             .addInterceptor(new CircuitBreakerInterceptor(new CircuitBreakerPolicy()))
+ *             .build();
+ * </pre>
+ * The Vault client reports a rejected call as a {@link com.nike.vault.client.VaultCircuitBreakerOpenException}.
+ * Rejected calls are not sent to another node.
+ */
+public class CircuitBreakerInterceptor implements Interceptor {
+
+    /**
+     * States of a circuit breaker.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakerInterceptor.class);
+
+    private final CircuitBreakerPolicy policy;
+
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerInterceptor(final CircuitBreakerPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Circuit breaker policy can not be null.");
+        }
+
+        this.policy = policy;
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final String node = getNode(chain.request().url());
+        final CircuitBreaker circuitBreaker = getCircuitBreaker(node);
+
+        if (!circuitBreaker.tryAcquire(System.nanoTime())) {
+            throw new CircuitBreakerOpenException(node);
+        }
+
+        final long start = System.nanoTime();
+        final Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException e) {
+            if (chain.call().isCanceled()) {
+                circuitBreaker.release();
+            } else {
+                circuitBreaker.onResult(true, System.nanoTime() - start);
+            }
+            throw e;
+        }
+
+        circuitBreaker.onResult(policy.getFailureStatusCodes().contains(response.code()), System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * Returns the state of the circuit breaker for a Vault node.
+     *
+     * @param url URL of the node
+     * @return State of the circuit breaker
+     */
+    public State getState(final HttpUrl url) {
+        final CircuitBreaker circuitBreaker = circuitBreakers.get(getNode(url));
+        return circuitBreaker == null ? State.CLOSED : circuitBreaker.getState();
+    }
+
+    private CircuitBreaker getCircuitBreaker(final String node) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(node);
+        if (circuitBreaker == null) {
+            final CircuitBreaker created = new CircuitBreaker(node);
+            circuitBreaker = circuitBreakers.putIfAbsent(node, created);
+            if (circuitBreaker == null) {
+                circuitBreaker = created;
+            }
+        }
+        return circuitBreaker;
+    }
+
+    private static String getNode(final HttpUrl url) {
+        return url.scheme() + "://" + url.host() + ":" + url.port();
+    }
+
+    /**
+     * Circuit breaker for a single node.  The sliding window is a ring buffer of call outcomes.
+     */
+    private final class CircuitBreaker {
+
+        private final String node;
+
+        private final boolean[] failures = new boolean[policy.getSlidingWindowSize()];
+
+        private final boolean[] slowCalls = new boolean[policy.getSlidingWindowSize()];
+
+        private int next;
+
+        private int calls;
+
+        private int failureCount;
+
+        private int slowCallCount;
+
+        private State state = State.CLOSED;
+
+        private long openedAtNanos;
+
+        private int trialPermits;
+
+        private int trialSuccesses;
+
+        private CircuitBreaker(final String node) {
+            this.node = node;
+        }
+
+        synchronized State getState() {
+            return state;
+        }
+
+        synchronized boolean tryAcquire(final long nowNanos) {
+            if (state == State.OPEN) {
+                if (nowNanos - openedAtNanos < TimeUnit.MILLISECONDS.toNanos(policy.getOpenDurationMillis())) {
+                    return false;
+                }
+
+                LOGGER.info("Circuit breaker for Vault node: {} is half-open, sending trial calls", node);
+                state = State.HALF_OPEN;
+                trialPermits = policy.getHalfOpenTrialCalls();
+                trialSuccesses = 0;
+            }
+
+            if (state == State.HALF_OPEN) {
+                if (trialPermits == 0) {
+                    return false;
+                }
+                trialPermits--;
+            }
+            return true;
+        }
+
+        /**
+         * Gives back a trial permit taken by a call that was cancelled.
+         */
+        synchronized void release() {
+            if (state == State.HALF_OPEN) {
+                trialPermits++;
+            }
+        }
+
+        synchronized void onResult(final boolean failure, final long durationNanos) {
+            final boolean slow = durationNanos >= TimeUnit.MILLISECONDS.toNanos(policy.getSlowCallDurationMillis());
+
+            if (state == State.HALF_OPEN) {
+                if (failure || slow) {
+                    open();
+                } else if (++trialSuccesses >= policy.getHalfOpenTrialCalls()) {
+                    LOGGER.info("Circuit breaker for Vault node: {} is closed", node);
+                    state = State.CLOSED;
+                    reset();
+                }
+            } else if (state == State.CLOSED) {
+                record(failure, slow);
+
+                if (calls >= policy.getMinimumCalls()
+                        && (failureCount >= policy.getFailureRateThreshold() * calls
+                        || slowCallCount >= policy.getSlowCallRateThreshold() * calls)) {
+                    open();
+                }
+            }
+        }
+
+        private void record(final boolean failure, final boolean slow) {
+            if (calls == failures.length) {
+                failureCount -= failures[next] ? 1 : 0;
+                slowCallCount -= slowCalls[next] ? 1 : 0;
+            } else {
+                calls++;
+            }
+
+            failures[next] = failure;
+            slowCalls[next] = slow;
+            failureCount += failure ? 1 : 0;
+            slowCallCount += slow ? 1 : 0;
+            next = (next + 1) % failures.length;
+        }
+
+        private void open() {
+            LOGGER.warn("Circuit breaker for Vault node: {} is open, failing fast for {}ms", node,
+                    policy.getOpenDurationMillis());
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+            reset();
+        }
+
+        private void reset() {
+            next = 0;
+            calls = 0;
+            failureCount = 0;
+            slowCallCount = 0;
+        }
+    }
+}
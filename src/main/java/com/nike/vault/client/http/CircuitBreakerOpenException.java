@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import java.io.IOException;
+
+/**
+ * Thrown by the {@link CircuitBreakerInterceptor} when a call is rejected because the circuit for the Vault node
+ * is open.
+ */
+public class CircuitBreakerOpenException extends IOException {
+
+    private final String node;
+
+    /**
+     * Constructs the exception for the node whose circuit is open.
+     *
+     * @param node Vault node, as scheme, host and port
+     */
+    public CircuitBreakerOpenException(String node) {
+        super("Circuit breaker is open for Vault node: " + node);
+        this.node = node;
+    }
+
+    public String getNode() {
+        return node;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings for the circuit breakers kept for each Vault node.
+ * <p>
+ * The outcome of the most recent calls to a node is kept in a sliding window.  Once the window holds the minimum
+ * number of calls, the circuit opens if the share of failed calls or of slow calls reaches its threshold.  While
+ * open, calls fail fast.  After the open duration the circuit is half-open and lets a number of trial calls through:
+ * if they all succeed the circuit closes, if any fails it opens again.
+ * </p>
+ */
+public class CircuitBreakerPolicy {
+
+    public static final int DEFAULT_SLIDING_WINDOW_SIZE = 20;
+
+    public static final int DEFAULT_MINIMUM_CALLS = 10;
+
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+
+    public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 0.8;
+
+    public static final long DEFAULT_SLOW_CALL_DURATION_MILLIS = 5_000;
+
+    public static final long DEFAULT_OPEN_DURATION_MILLIS = 30_000;
+
+    public static final int DEFAULT_HALF_OPEN_TRIAL_CALLS = 3;
+
+    private int slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+
+    private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+
+    private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+
+    private double slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+
+    private long slowCallDurationMillis = DEFAULT_SLOW_CALL_DURATION_MILLIS;
+
+    private long openDurationMillis = DEFAULT_OPEN_DURATION_MILLIS;
+
+    private int halfOpenTrialCalls = DEFAULT_HALF_OPEN_TRIAL_CALLS;
+
+    private Set<Integer> failureStatusCodes = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            HttpStatus.INTERNAL_SERVER_ERROR,
+            HttpStatus.BAD_GATEWAY,
+            HttpStatus.SERVICE_UNAVAILABLE,
+            HttpStatus.GATEWAY_TIMEOUT)));
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * Sets the number of recent calls the failure and slow call rates are calculated from, and the number of calls
+     * needed before they are.
+     *
+     * @param slidingWindowSize Number of calls kept in the sliding window
+     * @param minimumCalls      Number of calls needed before the circuit can open
+     * @return The circuit breaker policy
+     */
+    public CircuitBreakerPolicy setSlidingWindow(int slidingWindowSize, int minimumCalls) {
+        if (slidingWindowSize < 1 || minimumCalls < 1 || minimumCalls > slidingWindowSize) {
+            throw new IllegalArgumentException("Minimum calls must be between one and the sliding window size.");
+        }
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumCalls = minimumCalls;
+        return this;
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public CircuitBreakerPolicy setFailureRateThreshold(double failureRateThreshold) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("Failure rate threshold must be greater than 0 and at most 1.");
+        }
+        this.failureRateThreshold = failureRateThreshold;
+        return this;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public long getSlowCallDurationMillis() {
+        return slowCallDurationMillis;
+    }
+
+    /**
+     * Sets the share of slow calls that opens the circuit, and how long a call must take to be slow.
+     *
+     * @param slowCallRateThreshold Share of slow calls, e.g. 0.8 for 80%
+     * @param slowCallDuration      Duration after which a call is slow
+     * @param unit                  Unit of the duration
+     * @return The circuit breaker policy
+     */
+    public CircuitBreakerPolicy setSlowCallThreshold(double slowCallRateThreshold, long slowCallDuration,
+                                                     TimeUnit unit) {
+        if (slowCallRateThreshold <= 0 || slowCallRateThreshold > 1 || slowCallDuration <= 0) {
+            throw new IllegalArgumentException("Slow call rate threshold must be greater than 0 and at most 1, "
+                    + "and the slow call duration greater than 0.");
+        }
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDurationMillis = unit.toMillis(slowCallDuration);
+        return this;
+    }
+
+    public long getOpenDurationMillis() {
+        return openDurationMillis;
+    }
+
+    public CircuitBreakerPolicy setOpenDuration(long openDuration, TimeUnit unit) {
+        if (openDuration < 0) {
+            throw new IllegalArgumentException("Open duration can not be negative.");
+        }
+        this.openDurationMillis = unit.toMillis(openDuration);
+        return this;
+    }
+
+    public int getHalfOpenTrialCalls() {
+        return halfOpenTrialCalls;
+    }
+
+    public CircuitBreakerPolicy setHalfOpenTrialCalls(int halfOpenTrialCalls) {
+        if (halfOpenTrialCalls < 1) {
+            throw new IllegalArgumentException("Half-open trial calls must be at least one.");
+        }
+        this.halfOpenTrialCalls = halfOpenTrialCalls;
+        return this;
+    }
+
+    public Set<Integer> getFailureStatusCodes() {
+        return failureStatusCodes;
+    }
+
+    public CircuitBreakerPolicy setFailureStatusCodes(Set<Integer> failureStatusCodes) {
+        if (failureStatusCodes == null) {
+            throw new IllegalArgumentException("Failure status codes can not be null.");
+        }
+        this.failureStatusCodes = Collections.unmodifiableSet(new HashSet<>(failureStatusCodes));
+        return this;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * HTTP client interceptor that limits the number of requests to Vault in flight, as configured by a
+ * {@link ConcurrencyLimitPolicy}.  The limit adapts to the measured round trip time and errors, and requests over it
+ * are rejected straight away with a {@link ConcurrencyLimitExceededException} rather than queued.
+ * <pre>
+ *     final OkHttpClient httpClient = new OkHttpClient.Builder()
+ *             .addInterceptor(new ConcurrencyLimitInterceptor(new ConcurrencyLimitPolicy()))
+ *             .build();
+ * </pre>
+ */
+public class ConcurrencyLimitInterceptor implements Interceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrencyLimitInterceptor.class);
+
+    private final ConcurrencyLimitPolicy policy;
+
+    private double limit;
+
+    private int inFlight;
+
+    private long minRttNanos = Long.MAX_VALUE;
+
+    private int samplesSinceMinRttReset;
+
+    public ConcurrencyLimitInterceptor(final ConcurrencyLimitPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Concurrency limit policy can not be null.");
+        }
+
+        this.policy = policy;
+        this.limit = policy.getInitialLimit();
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+
+        if (!tryAcquire()) {
+            throw new ConcurrencyLimitExceededException("Concurrency limit of " + getLimit()
+                    + " requests in flight reached, rejecting request: " + request.method() + " "
+                    + request.url().encodedPath());
+        }
+
+        final long start = System.nanoTime();
+        final Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            release(chain.call().isCanceled() ? -1 : Long.MAX_VALUE);
+            throw e;
+        }
+
+        release(policy.getOverloadStatusCodes().contains(response.code())
+                ? Long.MAX_VALUE : System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * Returns the current limit on requests in flight.
+     *
+     * @return Limit
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     *
+     * @return Requests in flight
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Releases the request and adapts the limit to its round trip time, where {@link Long#MAX_VALUE} means the request
+     * failed and a negative time means it was cancelled.
+     */
+    private synchronized void release(final long rttNanos) {
+        final int used = inFlight;
+        inFlight--;
+
+        if (rttNanos < 0) {
+            return;
+        }
+
+        if (rttNanos != Long.MAX_VALUE
+                && (rttNanos < minRttNanos || ++samplesSinceMinRttReset >= policy.getMinRttWindow())) {
+            minRttNanos = rttNanos;
+            samplesSinceMinRttReset = 0;
+        }
+
+        if (rttNanos == Long.MAX_VALUE || rttNanos > minRttNanos * policy.getRttTolerance()) {
+            final double decreased = Math.max(policy.getMinLimit(), limit * policy.getBackoffRatio());
+            if ((int) decreased < (int) limit) {
+                LOGGER.debug("Lowering the concurrency limit to {}", (int) decreased);
+            }
+            limit = decreased;
+        } else if (used * 2 >= limit) {
+            limit = Math.min(policy.getMaxLimit(), limit + 1 / limit);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Settings for an adaptive limit on the number of requests to Vault in flight.
+ * <p>
+ * The limit is tuned with additive increase, multiplicative decrease.  Each response that comes back in time raises
+ * the limit by one over the limit, about one per round trip, as long as the client is using at least half of it.
+ * A request that fails, is throttled by Vault, or takes longer than the RTT tolerance times the lowest observed round
+ * trip time, multiplies the limit by the backoff ratio.
+ * </p>
+ */
+public class ConcurrencyLimitPolicy {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+
+    public static final int DEFAULT_MIN_LIMIT = 1;
+
+    public static final int DEFAULT_MAX_LIMIT = 200;
+
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    public static final double DEFAULT_RTT_TOLERANCE = 2.0;
+
+    /**
+     * Number of responses after which the lowest observed round trip time is measured again, so that it follows
+     * lasting changes in latency.
+     */
+    public static final int DEFAULT_MIN_RTT_WINDOW = 1_000;
+
+    private int initialLimit = DEFAULT_INITIAL_LIMIT;
+
+    private int minLimit = DEFAULT_MIN_LIMIT;
+
+    private int maxLimit = DEFAULT_MAX_LIMIT;
+
+    private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+
+    private double rttTolerance = DEFAULT_RTT_TOLERANCE;
+
+    private int minRttWindow = DEFAULT_MIN_RTT_WINDOW;
+
+    private Set<Integer> overloadStatusCodes = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            HttpStatus.TOO_MANY_REQUESTS,
+            HttpStatus.SERVICE_UNAVAILABLE,
+            HttpStatus.GATEWAY_TIMEOUT)));
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Sets the bounds of the limit.
+     *
+     * @param initialLimit Limit to start with
+     * @param minLimit     Lowest the limit can go
+     * @param maxLimit     Highest the limit can go
+     * @return The concurrency limit policy
+     */
+    public ConcurrencyLimitPolicy setLimits(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Limits must be at least one, with the initial limit between the "
+                    + "min and max limit.");
+        }
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        return this;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public ConcurrencyLimitPolicy setBackoffRatio(double backoffRatio) {
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1.");
+        }
+        this.backoffRatio = backoffRatio;
+        return this;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public int getMinRttWindow() {
+        return minRttWindow;
+    }
+
+    /**
+     * Sets how much slower than the lowest observed round trip time a response can be before it counts as a sign
+     * of overload.
+     *
+     * @param rttTolerance Multiple of the lowest round trip time, e.g. 2.0 for twice as slow
+     * @param minRttWindow Number of responses after which the lowest round trip time is measured again
+     * @return The concurrency limit policy
+     */
+    public ConcurrencyLimitPolicy setRttTolerance(double rttTolerance, int minRttWindow) {
+        if (rttTolerance < 1 || minRttWindow < 1) {
+            throw new IllegalArgumentException("RTT tolerance and window must be at least one.");
+        }
+        this.rttTolerance = rttTolerance;
+        this.minRttWindow = minRttWindow;
+        return this;
+    }
+
+    public Set<Integer> getOverloadStatusCodes() {
+        return overloadStatusCodes;
+    }
+
+    public ConcurrencyLimitPolicy setOverloadStatusCodes(Set<Integer> overloadStatusCodes) {
+        if (overloadStatusCodes == null) {
+            throw new IllegalArgumentException("Overload status codes can not be null.");
+        }
+        this.overloadStatusCodes = Collections.unmodifiableSet(new HashSet<>(overloadStatusCodes));
+        return this;
+    }
+}
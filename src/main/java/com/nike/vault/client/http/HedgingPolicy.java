@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings for hedging GET requests to Vault.
+ * <p>
+ * If no response has arrived by the hedging delay, a second identical request is sent and the first response to
+ * arrive is used, the other request is cancelled.  The delay adapts to the observed latency: it is the configured
+ * percentile of the recent response times, kept between the minimum and maximum delay.  Hedged requests are limited
+ * by a budget: every request adds the budget ratio to the budget, up to the burst size, and every hedged request
+ * takes one from it.
+ * </p>
+ */
+public class HedgingPolicy {
+
+    public static final double DEFAULT_PERCENTILE = 0.95;
+
+    public static final long DEFAULT_MIN_DELAY_MILLIS = 10;
+
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 1_000;
+
+    public static final int DEFAULT_SAMPLE_SIZE = 1_000;
+
+    public static final double DEFAULT_HEDGING_BUDGET_RATIO = 0.05;
+
+    public static final int DEFAULT_HEDGING_BUDGET_BURST = 10;
+
+    private double percentile = DEFAULT_PERCENTILE;
+
+    private long minDelayMillis = DEFAULT_MIN_DELAY_MILLIS;
+
+    private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+
+    private int sampleSize = DEFAULT_SAMPLE_SIZE;
+
+    private double hedgingBudgetRatio = DEFAULT_HEDGING_BUDGET_RATIO;
+
+    private int hedgingBudgetBurst = DEFAULT_HEDGING_BUDGET_BURST;
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * Sets the percentile of the recent response times used as the hedging delay.
+     *
+     * @param percentile Percentile, e.g. 0.95 for the 95th percentile
+     * @return The hedging policy
+     */
+    public HedgingPolicy setPercentile(double percentile) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1.");
+        }
+        this.percentile = percentile;
+        return this;
+    }
+
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    /**
+     * Sets the bounds of the hedging delay.  The max delay is also used until enough response times are observed.
+     *
+     * @param minDelay Minimum hedging delay
+     * @param maxDelay Maximum hedging delay
+     * @param unit     Unit of the delays
+     * @return The hedging policy
+     */
+    public HedgingPolicy setDelay(long minDelay, long maxDelay, TimeUnit unit) {
+        if (minDelay < 0 || maxDelay < minDelay) {
+            throw new IllegalArgumentException("Delays must be positive, and the max delay at least the min delay.");
+        }
+        this.minDelayMillis = unit.toMillis(minDelay);
+        this.maxDelayMillis = unit.toMillis(maxDelay);
+        return this;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * Sets the number of recent response times the hedging delay is calculated from.
+     *
+     * @param sampleSize Number of response times
+     * @return The hedging policy
+     */
+    public HedgingPolicy setSampleSize(int sampleSize) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("Sample size must be at least one.");
+        }
+        this.sampleSize = sampleSize;
+        return this;
+    }
+
+    public double getHedgingBudgetRatio() {
+        return hedgingBudgetRatio;
+    }
+
+    public int getHedgingBudgetBurst() {
+        return hedgingBudgetBurst;
+    }
+
+    /**
+     * Sets the hedging budget.  Over time hedged requests are limited to the ratio of requests, with up to the burst
+     * size of hedged requests allowed at once.
+     *
+     * @param ratio Share of requests that may be hedged, e.g. 0.05 for 5%
+     * @param burst Maximum number of hedged requests that can be saved up
+     * @return The hedging policy
+     */
+    public HedgingPolicy setHedgingBudget(double ratio, int burst) {
+        if (ratio < 0 || burst < 0) {
+            throw new IllegalArgumentException("Hedging budget can not be negative.");
+        }
+        this.hedgingBudgetRatio = ratio;
+        this.hedgingBudgetBurst = burst;
+        return this;
+    }
+}
@@ -29,6 +29,8 @@ public final class HttpStatus {
 
     public static final int NO_CONTENT = 204;
 
+    public static final int TEMPORARY_REDIRECT = 307;
+
     public static final int BAD_REQUEST = 400;
 
     public static final int UNAUTHORIZED = 401;
@@ -48,4 +50,9 @@ public final class HttpStatus {
     public static final int SERVICE_UNAVAILABLE = 503;
 
     public static final int GATEWAY_TIMEOUT = 504;
+
+    /**
+     * Returned by the health endpoint of a Vault Enterprise performance standby node.
+     */
+    public static final int PERFORMANCE_STANDBY = 473;
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+/**
+ * Thrown by the {@link RateLimitInterceptor} when a request is rejected because it would have to wait too long for
+ * a permit.
+ */
+public class RateLimitExceededException extends RequestRejectedException {
+
+    /**
+     * Constructs the exception with a message.
+     *
+     * @param message Message
+     */
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client interceptor that limits the rate of requests to Vault, as configured by a {@link RateLimitPolicy}.
+ * By default one limit applies to all requests.  Separate limits can be set for requests whose path starts with a
+ * prefix, such as <code>v1/secret/</code>.  The first matching prefix, in the order they were added, is used.
+ * <pre>
+ *     final OkHttpClient httpClient = new OkHttpClient.Builder()
+ *             .addInterceptor(new RateLimitInterceptor(new RateLimitPolicy().setRate(50, 50))
+ *                     .addPathPrefix("v1/auth/", new RateLimitPolicy().setRate(5, 5)))
+ *             .build();
+ * </pre>
+ * When used with a {@link RetryInterceptor}, add the retry interceptor first so that retries are rate limited too.
+ */
+public class RateLimitInterceptor implements Interceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private final TokenBucket defaultBucket;
+
+    private final Map<String, TokenBucket> pathBuckets = new LinkedHashMap<>();
+
+    /**
+     * Constructor for a rate limit that applies to all requests not matched by a path prefix.
+     *
+     * @param policy Rate limit settings, or null to only limit requests matched by a path prefix
+     */
+    public RateLimitInterceptor(final RateLimitPolicy policy) {
+        this.defaultBucket = policy == null ? null : new TokenBucket(policy);
+    }
+
+    /**
+     * Adds a separate rate limit for requests whose path starts with the prefix.  Path prefixes should be added before
+     * the HTTP client is used.
+     *
+     * @param pathPrefix Prefix of the request path, without the leading slash, e.g. <code>v1/secret/</code>
+     * @param policy     Rate limit settings
+     * @return The interceptor
+     */
+    public RateLimitInterceptor addPathPrefix(final String pathPrefix, final RateLimitPolicy policy) {
+        if (StringUtils.isBlank(pathPrefix) || policy == null) {
+            throw new IllegalArgumentException("Path prefix and policy can not be null.");
+        }
+
+        pathBuckets.put(StringUtils.removeStart(pathPrefix, "/"), new TokenBucket(policy));
+        return this;
+    }
+
+    /**
+     * Returns the current permitted rate for requests with the specified path, which is lower than the configured rate
+     * after Vault responded with 429.
+     *
+     * @param path Request path, without the leading slash
+     * @return Permits per second, or zero if the path is not rate limited
+     */
+    public double getCurrentRate(final String path) {
+        final TokenBucket bucket = findBucket(path);
+        return bucket == null ? 0 : bucket.getRate();
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final TokenBucket bucket = findBucket(request.url().encodedPath().substring(1));
+
+        if (bucket == null) {
+            return chain.proceed(request);
+        }
+
+        final long waitNanos = bucket.reserve(System.nanoTime());
+        if (waitNanos < 0) {
+            throw new RateLimitExceededException("Client side rate limit exceeded for request: " + request.method()
+                    + " " + request.url().encodedPath());
+        }
+
+        sleep(waitNanos);
+        final Response response = chain.proceed(request);
+
+        if (response.code() == HttpStatus.TOO_MANY_REQUESTS) {
+            final long retryAfterNanos = getRetryAfterNanos(response);
+            bucket.onThrottled(System.nanoTime(), retryAfterNanos);
+            LOGGER.warn("Vault rate limit reached, lowering the client side rate to {} per second, retryAfterMillis={}",
+                    bucket.getRate(), TimeUnit.NANOSECONDS.toMillis(retryAfterNanos));
+        } else {
+            bucket.onSuccess();
+        }
+
+        return response;
+    }
+
+    private TokenBucket findBucket(final String path) {
+        for (final Map.Entry<String, TokenBucket> entry : pathBuckets.entrySet()) {
+            if (path.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return defaultBucket;
+    }
+
+    /**
+     * Returns the delay asked for by the Retry-After header, which can be seconds or an HTTP date.
+     */
+    private static long getRetryAfterNanos(final Response response) {
+        final String retryAfter = response.header(RETRY_AFTER_HEADER);
+        if (StringUtils.isBlank(retryAfter)) {
+            return 0;
+        }
+
+        if (StringUtils.isNumeric(retryAfter.trim())) {
+            try {
+                return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        final Date date = response.headers().getDate(RETRY_AFTER_HEADER);
+        if (date == null) {
+            return 0;
+        }
+        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(date.getTime() - System.currentTimeMillis()));
+    }
+
+    private static void sleep(final long nanos) throws InterruptedIOException {
+        if (nanos <= 0) {
+            return;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the rate limit.");
+        }
+    }
+
+    /**
+     * Token bucket whose refill rate adapts to 429 responses.  Permits are reserved ahead of time, so the balance goes
+     * negative while requests are queued.
+     */
+    private static final class TokenBucket {
+
+        private final RateLimitPolicy policy;
+
+        private double rate;
+
+        private double tokens;
+
+        private long refilledAtNanos;
+
+        private long pausedUntilNanos;
+
+        private TokenBucket(final RateLimitPolicy policy) {
+            this.policy = policy;
+            this.rate = policy.getPermitsPerSecond();
+            this.tokens = policy.getBurst();
+            this.refilledAtNanos = System.nanoTime();
+            this.pausedUntilNanos = refilledAtNanos;
+        }
+
+        synchronized double getRate() {
+            return rate;
+        }
+
+        /**
+         * Reserves a permit and returns how long to wait for it, or -1 if that is longer than the max wait.
+         */
+        synchronized long reserve(final long nowNanos) {
+            refill(nowNanos);
+
+            final long pauseNanos = Math.max(0, pausedUntilNanos - nowNanos);
+            final long waitNanos = pauseNanos
+                    + (tokens >= 1 ? 0 : (long) ((1 - tokens) / rate * TimeUnit.SECONDS.toNanos(1)));
+
+            if (waitNanos > TimeUnit.MILLISECONDS.toNanos(policy.getMaxWaitMillis())) {
+                return -1;
+            }
+
+            tokens--;
+            return waitNanos;
+        }
+
+        synchronized void onThrottled(final long nowNanos, final long retryAfterNanos) {
+            refill(nowNanos);
+            rate = Math.max(RateLimitPolicy.MIN_PERMITS_PER_SECOND, rate * policy.getBackoffFactor());
+            tokens = Math.min(tokens, 0);
+            pausedUntilNanos = Math.max(pausedUntilNanos, nowNanos + retryAfterNanos);
+        }
+
+        synchronized void onSuccess() {
+            rate = Math.min(policy.getPermitsPerSecond(),
+                    rate + policy.getPermitsPerSecond() * policy.getRecoveryStep());
+        }
+
+        /**
+         * Adds the permits accrued since the last refill, none accrue while paused by a Retry-After header.
+         */
+        private void refill(final long nowNanos) {
+            final long from = Math.max(refilledAtNanos, pausedUntilNanos);
+            if (nowNanos > from) {
+                tokens = Math.min(policy.getBurst(), tokens + rate * (nowNanos - from) / TimeUnit.SECONDS.toNanos(1));
+            }
+            refilledAtNanos = Math.max(refilledAtNanos, nowNanos);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings for a client side rate limit on requests to Vault.
+ * <p>
+ * Requests take permits from a token bucket that refills at the permitted rate, up to the burst size.  A request
+ * that can not get a permit waits for one, unless that would take longer than the max wait, in which case it is
+ * rejected.  When Vault responds with 429 Too Many Requests the rate is cut by the backoff factor, and requests are
+ * held back for as long as the <code>Retry-After</code> header asks.  Each successful response then raises the rate
+ * a step, back up to the permitted rate.
+ * </p>
+ */
+public class RateLimitPolicy {
+
+    public static final double DEFAULT_PERMITS_PER_SECOND = 100;
+
+    public static final int DEFAULT_BURST = 100;
+
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 1_000;
+
+    public static final double DEFAULT_BACKOFF_FACTOR = 0.5;
+
+    public static final double DEFAULT_RECOVERY_STEP = 0.01;
+
+    /**
+     * The rate is never cut below this many permits per second.
+     */
+    public static final double MIN_PERMITS_PER_SECOND = 0.1;
+
+    private double permitsPerSecond = DEFAULT_PERMITS_PER_SECOND;
+
+    private int burst = DEFAULT_BURST;
+
+    private long maxWaitMillis = DEFAULT_MAX_WAIT_MILLIS;
+
+    private double backoffFactor = DEFAULT_BACKOFF_FACTOR;
+
+    private double recoveryStep = DEFAULT_RECOVERY_STEP;
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Sets the permitted rate of requests.
+     *
+     * @param permitsPerSecond Requests permitted per second
+     * @param burst            Maximum number of permits that can be saved up
+     * @return The rate limit policy
+     */
+    public RateLimitPolicy setRate(double permitsPerSecond, int burst) {
+        if (permitsPerSecond < MIN_PERMITS_PER_SECOND || burst < 1) {
+            throw new IllegalArgumentException("Rate must be at least " + MIN_PERMITS_PER_SECOND
+                    + " per second, and the burst at least one.");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        return this;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    /**
+     * Sets how long a request may wait for a permit before it is rejected.
+     *
+     * @param maxWait Maximum wait, zero to reject requests rather than queue them
+     * @param unit    Unit of the wait
+     * @return The rate limit policy
+     */
+    public RateLimitPolicy setMaxWait(long maxWait, TimeUnit unit) {
+        if (maxWait < 0) {
+            throw new IllegalArgumentException("Max wait can not be negative.");
+        }
+        this.maxWaitMillis = unit.toMillis(maxWait);
+        return this;
+    }
+
+    public double getBackoffFactor() {
+        return backoffFactor;
+    }
+
+    public double getRecoveryStep() {
+        return recoveryStep;
+    }
+
+    /**
+     * Sets how the rate adapts to 429 responses.
+     *
+     * @param backoffFactor Factor the rate is multiplied by on a 429 response, e.g. 0.5 to halve it
+     * @param recoveryStep  Share of the permitted rate the rate is raised by on each successful response
+     * @return The rate limit policy
+     */
+    public RateLimitPolicy setAdaptation(double backoffFactor, double recoveryStep) {
+        if (backoffFactor <= 0 || backoffFactor > 1 || recoveryStep <= 0) {
+            throw new IllegalArgumentException("Backoff factor must be greater than 0 and at most 1, "
+                    + "and the recovery step greater than 0.");
+        }
+        this.backoffFactor = backoffFactor;
+        this.recoveryStep = recoveryStep;
+        return this;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import java.io.IOException;
+
+/**
+ * Thrown by an interceptor when it rejects a request on the client side to protect Vault, such as when a rate or
+ * concurrency limit is exceeded.  The request was not sent, so the Vault node is not at fault.
+ */
+public class RequestRejectedException extends IOException {
+
+    /**
+     * Constructs the exception with a message.
+     *
+     * @param message Message
+     */
+    public RequestRejectedException(String message) {
+        super(message);
+    }
+}
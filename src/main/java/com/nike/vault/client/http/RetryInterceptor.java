@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP client interceptor that retries failed requests according to a {@link RetryPolicy}.
+ * <p>
+ * Requests rejected on the client side, with a {@link RequestRejectedException} or
+ * {@link CircuitBreakerOpenException}, are never retried, so that shed load and open circuit breakers stay effective.
+ * </p>
+ * <pre>
+ *     final OkHttpClient httpClient = new OkHttpClient.Builder()
+ *             .addInterceptor(new RetryInterceptor(new RetryPolicy()))
+ *             .build();
+ * </pre>
+ */
+public class RetryInterceptor implements Interceptor {
+
+    /**
+     * Request tag that marks a request, such as a POST, as safe to retry.
+     */
+    public static final Object SAFE_TO_RETRY = new Object();
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetryInterceptor.class);
+
+    private final RetryPolicy retryPolicy;
+
+    private final RetryListener retryListener;
+
+    private final AtomicLong retryCount = new AtomicLong();
+
+    private final AtomicLong budgetExhaustedCount = new AtomicLong();
+
+    private final Object budgetLock = new Object();
+
+    private double budget;
+
+    public RetryInterceptor(final RetryPolicy retryPolicy) {
+        this(retryPolicy, null);
+    }
+
+    /**
+     * Explicit constructor that takes the retry policy and a listener notified of every retry.
+     *
+     * @param retryPolicy   Settings for retrying requests
+     * @param retryListener Listener notified of every retry, may be null
+     */
+    public RetryInterceptor(final RetryPolicy retryPolicy, final RetryListener retryListener) {
+        if (retryPolicy == null) {
+            throw new IllegalArgumentException("Retry policy can not be null.");
+        }
+
+        this.retryPolicy = retryPolicy;
+        this.retryListener = retryListener;
+        this.budget = retryPolicy.getRetryBudgetBurst();
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final boolean retryable = retryPolicy.isRetryable(request.method(), request.tag() == SAFE_TO_RETRY);
+        depositBudget();
+
+        for (int retry = 1; ; retry++) {
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = chain.proceed(request);
+            } catch (RequestRejectedException | CircuitBreakerOpenException e) {
+                throw e;
+            } catch (IOException e) {
+                failure = e;
+            }
+
+            if (!retryable
+                    || retry > retryPolicy.getMaxRetries()
+                    || (response != null && !retryPolicy.getRetryableStatusCodes().contains(response.code()))
+                    || !withdrawBudget()) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+
+            final long delayMillis = retryPolicy.getDelayMillis(retry);
+            if (response != null) {
+                response.close();
+            }
+
+            retryCount.incrementAndGet();
+            LOGGER.info("Retrying request: {} {}, retry={}, status={}, delayMillis={}", request.method(),
+                    request.url().encodedPath(), retry, response == null ? failure.toString() : response.code(),
+                    delayMillis);
+            if (retryListener != null) {
+                retryListener.onRetry(request, retry, response, failure, delayMillis);
+            }
+
+            sleep(delayMillis);
+        }
+    }
+
+    /**
+     * Returns the number of retries made.
+     *
+     * @return Retry count
+     */
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * Returns the number of retries skipped because the retry budget was exhausted.
+     *
+     * @return Skipped retry count
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhaustedCount.get();
+    }
+
+    private void depositBudget() {
+        synchronized (budgetLock) {
+            budget = Math.min(budget + retryPolicy.getRetryBudgetRatio(), retryPolicy.getRetryBudgetBurst());
+        }
+    }
+
+    private boolean withdrawBudget() {
+        synchronized (budgetLock) {
+            if (budget >= 1) {
+                budget--;
+                return true;
+            }
+        }
+
+        budgetExhaustedCount.incrementAndGet();
+        return false;
+    }
+
+    private static void sleep(final long delayMillis) throws InterruptedIOException {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry the request.");
+        }
+    }
+}
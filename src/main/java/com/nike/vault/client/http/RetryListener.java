@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * Listener notified of every retry made by a {@link RetryInterceptor}, for recording metrics.
+ */
+public interface RetryListener {
+
+    /**
+     * Called before a request is retried.
+     *
+     * @param request     The request being retried
+     * @param retry       Number of the retry, starting at one
+     * @param response    The failed response, already closed, or null if the request failed with an I/O error
+     * @param failure     The I/O error, or null if a response was received
+     * @param delayMillis Delay before the retry in milliseconds
+     */
+    void onRetry(Request request, int retry, Response response, IOException failure, long delayMillis);
+}
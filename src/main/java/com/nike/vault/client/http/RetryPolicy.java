@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings for retrying failed requests to Vault.
+ * <p>
+ * Requests that fail with an I/O error or one of the retryable status codes are retried up to the maximum number of
+ * retries, with exponential backoff and full jitter between attempts.  Retries are limited by a budget: every
+ * request adds the budget ratio to the budget, up to the burst size, and every retry takes one from it.  GET, PUT,
+ * DELETE and HEAD requests are retried, POST requests only if they are marked safe to retry.
+ * </p>
+ */
+public class RetryPolicy {
+
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    public static final long DEFAULT_BASE_DELAY_MILLIS = 100;
+
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 2_000;
+
+    public static final double DEFAULT_RETRY_BUDGET_RATIO = 0.2;
+
+    public static final int DEFAULT_RETRY_BUDGET_BURST = 10;
+
+    private static final Set<String> IDEMPOTENT_METHODS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(HttpMethod.GET, HttpMethod.PUT, HttpMethod.DELETE, HttpMethod.HEAD)));
+
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+
+    private long baseDelayMillis = DEFAULT_BASE_DELAY_MILLIS;
+
+    private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+
+    private double retryBudgetRatio = DEFAULT_RETRY_BUDGET_RATIO;
+
+    private int retryBudgetBurst = DEFAULT_RETRY_BUDGET_BURST;
+
+    private boolean retryPost;
+
+    private Set<Integer> retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            HttpStatus.TOO_MANY_REQUESTS,
+            HttpStatus.INTERNAL_SERVER_ERROR,
+            HttpStatus.BAD_GATEWAY,
+            HttpStatus.SERVICE_UNAVAILABLE,
+            HttpStatus.GATEWAY_TIMEOUT)));
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public RetryPolicy setMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Max retries can not be negative.");
+        }
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    public long getBaseDelayMillis() {
+        return baseDelayMillis;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    /**
+     * Sets the delay before the first retry and the cap on the delay between retries.  The delay doubles with every
+     * retry, and the actual delay is a random time between zero and that value.
+     *
+     * @param baseDelay Delay before the first retry
+     * @param maxDelay  Cap on the delay between retries
+     * @param unit      Unit of the delays
+     * @return The retry policy
+     */
+    public RetryPolicy setDelay(long baseDelay, long maxDelay, TimeUnit unit) {
+        if (baseDelay < 0 || maxDelay < baseDelay) {
+            throw new IllegalArgumentException("Delays must be positive, and the max delay at least the base delay.");
+        }
+        this.baseDelayMillis = unit.toMillis(baseDelay);
+        this.maxDelayMillis = unit.toMillis(maxDelay);
+        return this;
+    }
+
+    public double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public int getRetryBudgetBurst() {
+        return retryBudgetBurst;
+    }
+
+    /**
+     * Sets the retry budget.  Over time retries are limited to the ratio of requests, with up to the burst size of
+     * retries allowed at once.
+     *
+     * @param ratio Share of requests that may be retried, e.g. 0.2 for 20%
+     * @param burst Maximum number of retries that can be saved up
+     * @return The retry policy
+     */
+    public RetryPolicy setRetryBudget(double ratio, int burst) {
+        if (ratio < 0 || burst < 0) {
+            throw new IllegalArgumentException("Retry budget can not be negative.");
+        }
+        this.retryBudgetRatio = ratio;
+        this.retryBudgetBurst = burst;
+        return this;
+    }
+
+    public boolean isRetryPost() {
+        return retryPost;
+    }
+
+    /**
+     * Sets whether all POST requests are safe to retry.  Individual POST requests can instead be marked safe with the
+     * {@link RetryInterceptor#SAFE_TO_RETRY} tag.
+     *
+     * @param retryPost True to retry POST requests
+     * @return The retry policy
+     */
+    public RetryPolicy setRetryPost(boolean retryPost) {
+        this.retryPost = retryPost;
+        return this;
+    }
+
+    public Set<Integer> getRetryableStatusCodes() {
+        return retryableStatusCodes;
+    }
+
+    public RetryPolicy setRetryableStatusCodes(Set<Integer> retryableStatusCodes) {
+        if (retryableStatusCodes == null) {
+            throw new IllegalArgumentException("Retryable status codes can not be null.");
+        }
+        this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(retryableStatusCodes));
+        return this;
+    }
+
+    /**
+     * Returns true if a request with the specified method may be retried.
+     *
+     * @param method     HTTP method of the request
+     * @param markedSafe True if the request was marked safe to retry
+     * @return True if the request may be retried
+     */
+    public boolean isRetryable(String method, boolean markedSafe) {
+        return markedSafe || IDEMPOTENT_METHODS.contains(method) || (retryPost && HttpMethod.POST.equals(method));
+    }
+
+    /**
+     * Returns the delay before the specified retry, a random time between zero and the exponential backoff.
+     *
+     * @param retry Number of the retry, starting at one
+     * @return Delay in milliseconds
+     */
+    public long getDelayMillis(int retry) {
+        final long backoff = baseDelayMillis << Math.min(retry - 1, 30);
+        final long cap = backoff < baseDelayMillis ? maxDelayMillis : Math.min(backoff, maxDelayMillis);
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+}
@@ -36,6 +36,12 @@ public class VaultClientTokenResponse {
 
     private int numUses;
 
+    private int ttl;
+
+    private int creationTtl;
+
+    private boolean renewable;
+
     public String getId() {
         return id;
     }
@@ -89,4 +95,31 @@ public class VaultClientTokenResponse {
         this.numUses = numUses;
         return this;
     }
+
+    public int getTtl() {
+        return ttl;
+    }
+
+    public VaultClientTokenResponse setTtl(int ttl) {
+        this.ttl = ttl;
+        return this;
+    }
+
+    public int getCreationTtl() {
+        return creationTtl;
+    }
+
+    public VaultClientTokenResponse setCreationTtl(int creationTtl) {
+        this.creationTtl = creationTtl;
+        return this;
+    }
+
+    public boolean isRenewable() {
+        return renewable;
+    }
+
+    public VaultClientTokenResponse setRenewable(boolean renewable) {
+        this.renewable = renewable;
+        return this;
+    }
 }
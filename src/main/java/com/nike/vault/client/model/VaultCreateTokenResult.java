@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.model;
+
+import com.nike.vault.client.VaultClientException;
+
+/**
+ * Result of creating one of the tokens of a batch, holding either the auth response or the error.
+ */
+public class VaultCreateTokenResult {
+
+    private final VaultTokenAuthRequest request;
+
+    private final VaultAuthResponse auth;
+
+    private final VaultClientException error;
+
+    public VaultCreateTokenResult(final VaultTokenAuthRequest request,
+                                  final VaultAuthResponse auth,
+                                  final VaultClientException error) {
+        this.request = request;
+        this.auth = auth;
+        this.error = error;
+    }
+
+    public VaultTokenAuthRequest getRequest() {
+        return request;
+    }
+
+    public VaultAuthResponse getAuth() {
+        return auth;
+    }
+
+    public VaultClientException getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
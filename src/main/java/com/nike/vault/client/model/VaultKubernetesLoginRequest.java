@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.model;
+
+/**
+ * Request object for the Kubernetes login request.
+ */
+public class VaultKubernetesLoginRequest {
+
+    private final String role;
+
+    private final String jwt;
+
+    public VaultKubernetesLoginRequest(final String role, final String jwt) {
+        this.role = role;
+        this.jwt = jwt;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getJwt() {
+        return jwt;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.model;
+
+/**
+ * Represents a leader response from Vault
+ */
+public class VaultLeaderResponse {
+
+    private boolean haEnabled;
+
+    private boolean isSelf;
+
+    private String leaderAddress;
+
+    private String leaderClusterAddress;
+
+    public boolean isHaEnabled() {
+        return haEnabled;
+    }
+
+    public VaultLeaderResponse setHaEnabled(boolean haEnabled) {
+        this.haEnabled = haEnabled;
+        return this;
+    }
+
+    public boolean isSelf() {
+        return isSelf;
+    }
+
+    public VaultLeaderResponse setSelf(boolean isSelf) {
+        this.isSelf = isSelf;
+        return this;
+    }
+
+    public String getLeaderAddress() {
+        return leaderAddress;
+    }
+
+    public VaultLeaderResponse setLeaderAddress(String leaderAddress) {
+        this.leaderAddress = leaderAddress;
+        return this;
+    }
+
+    public String getLeaderClusterAddress() {
+        return leaderClusterAddress;
+    }
+
+    public VaultLeaderResponse setLeaderClusterAddress(String leaderClusterAddress) {
+        this.leaderClusterAddress = leaderClusterAddress;
+        return this;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.model;
+
+import com.nike.vault.client.VaultClientException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of revoking a batch of tokens, split into the tokens that were revoked, the tokens Vault did not know
+ * about and the tokens that could not be revoked.
+ */
+public class VaultRevokeTokensResult {
+
+    /**
+     * Outcome of revoking a single token.
+     */
+    public enum Outcome {
+        REVOKED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    private final List<String> revoked;
+
+    private final List<String> notFound;
+
+    private final Map<String, VaultClientException> failed;
+
+    public VaultRevokeTokensResult(final List<String> revoked,
+                                   final List<String> notFound,
+                                   final Map<String, VaultClientException> failed) {
+        this.revoked = Collections.unmodifiableList(revoked);
+        this.notFound = Collections.unmodifiableList(notFound);
+        this.failed = Collections.unmodifiableMap(failed);
+    }
+
+    public List<String> getRevoked() {
+        return revoked;
+    }
+
+    public List<String> getNotFound() {
+        return notFound;
+    }
+
+    public Map<String, VaultClientException> getFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.model;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * Represent a response for reading data from Vault where each value is held in a wipeable {@link VaultSecretValue}.
+ * Closing the response wipes all of the values it holds.
+ */
+public class VaultSecretResponse implements Closeable {
+
+    private Map<String, VaultSecretValue> data;
+
+    /**
+     * Returns the key/value pairs stored at a path
+     *
+     * @return Map of data
+     */
+    public Map<String, VaultSecretValue> getData() {
+        return data;
+    }
+
+    public VaultSecretResponse setData(Map<String, VaultSecretValue> data) {
+        this.data = data;
+        return this;
+    }
+
+    /**
+     * Wipes all of the secret values held by this response.
+     */
+    public void wipe() {
+        if (data == null) {
+            return;
+        }
+
+        for (final VaultSecretValue value : data.values()) {
+            if (value != null) {
+                value.wipe();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        wipe();
+    }
+}
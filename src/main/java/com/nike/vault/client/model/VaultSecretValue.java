@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.model;
+
+import java.util.Arrays;
+
+/**
+ * Represents a single secret value held in a char array so that it can be wiped from memory once it is
+ * no longer needed, rather than lingering on the heap as an immutable String until garbage collection.
+ */
+public class VaultSecretValue {
+
+    private final char[] value;
+
+    private volatile boolean wiped;
+
+    /**
+     * Explicit constructor that takes ownership of the specified array.  The array will be zeroed out
+     * when {@link #wipe()} is called.
+     *
+     * @param value Secret value
+     */
+    public VaultSecretValue(final char[] value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Secret value can not be null.");
+        }
+
+        this.value = value;
+    }
+
+    /**
+     * Returns the backing array of the secret value, not a copy.  Callers should not hold on to the array
+     * past the life of this object as it will be zeroed out by {@link #wipe()}.
+     *
+     * @return Secret value
+     * @throws IllegalStateException If the value has already been wiped
+     */
+    public char[] getValue() {
+        if (wiped) {
+            throw new IllegalStateException("Secret value has already been wiped.");
+        }
+
+        return value;
+    }
+
+    public int length() {
+        return value.length;
+    }
+
+    public boolean isWiped() {
+        return wiped;
+    }
+
+    /**
+     * Overwrites the secret value with zeros.  Calling this method more than once has no further effect.
+     */
+    public void wipe() {
+        Arrays.fill(value, '\0');
+        wiped = true;
+    }
+
+    /**
+     * Masked so that the secret value is never written to logs by accident.
+     *
+     * @return Masked representation of the secret value
+     */
+    @Override
+    public String toString() {
+        return "VaultSecretValue(****)";
+    }
+}
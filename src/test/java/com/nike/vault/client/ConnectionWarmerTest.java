@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.auth.AnonymousVaultCredentialsProvider;
+import com.nike.vault.client.http.HttpStatus;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the ConnectionWarmer class
+ */
+public class ConnectionWarmerTest {
+
+    private MockWebServer mockWebServer;
+
+    private VaultClient vaultClient;
+
+    @Before
+    public void setup() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                return new MockResponse().setResponseCode(HttpStatus.OK);
+            }
+        });
+        mockWebServer.start();
+        vaultClient = VaultClientFactory.getClient(
+                new StaticVaultUrlResolver("http://localhost:" + mockWebServer.getPort()),
+                new AnonymousVaultCredentialsProvider(),
+                new HashMap<String, String>(),
+                new HttpClientSettings().setMaxRequestsPerHost(2));
+    }
+
+    @After
+    public void teardown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void warm_up_sends_health_probes() throws InterruptedException {
+        final int connections = new ConnectionWarmer(vaultClient).warmUp(2);
+
+        assertThat(connections).isGreaterThan(0);
+        for (int i = 0; i < 2; i++) {
+            final RecordedRequest request = mockWebServer.takeRequest();
+            assertThat(request.getMethod()).isEqualTo("HEAD");
+            assertThat(request.getPath()).isEqualTo("/v1/sys/health");
+        }
+    }
+
+    @Test
+    public void warm_up_does_not_throw_if_vault_is_unreachable() throws IOException {
+        mockWebServer.shutdown();
+
+        assertThat(new ConnectionWarmer(vaultClient).warmUp(2)).isEqualTo(0);
+    }
+
+    @Test
+    public void keep_warm_sends_probes_periodically() throws InterruptedException {
+        final ConnectionWarmer connectionWarmer = new ConnectionWarmer(vaultClient);
+        try {
+            connectionWarmer.keepWarm(1, 10, TimeUnit.MILLISECONDS);
+
+            assertThat(mockWebServer.takeRequest(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(mockWebServer.takeRequest(5, TimeUnit.SECONDS)).isNotNull();
+        } finally {
+            connectionWarmer.close();
+        }
+    }
+
+    @Test
+    public void keep_warm_replaces_the_previous_schedule() throws InterruptedException {
+        final ConnectionWarmer connectionWarmer = new ConnectionWarmer(vaultClient);
+        try {
+            connectionWarmer.keepWarm(1, 10, TimeUnit.MILLISECONDS);
+            assertThat(mockWebServer.takeRequest(5, TimeUnit.SECONDS)).isNotNull();
+
+            connectionWarmer.keepWarm(1, 1, TimeUnit.HOURS);
+            Thread.sleep(100);
+            final int requestCount = mockWebServer.getRequestCount();
+            Thread.sleep(100);
+
+            assertThat(mockWebServer.getRequestCount()).isEqualTo(requestCount);
+        } finally {
+            connectionWarmer.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void warm_up_throws_error_for_non_positive_connections() {
+        new ConnectionWarmer(vaultClient).warmUp(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keep_warm_throws_error_for_non_positive_interval() {
+        final ConnectionWarmer connectionWarmer = new ConnectionWarmer(vaultClient);
+        try {
+            connectionWarmer.keepWarm(1, 0, TimeUnit.SECONDS);
+        } finally {
+            connectionWarmer.close();
+        }
+    }
+
+    @Test
+    public void close_stops_keeping_connections_warm() throws InterruptedException {
+        final ConnectionWarmer connectionWarmer = new ConnectionWarmer(vaultClient);
+        connectionWarmer.keepWarm(1, 10, TimeUnit.MILLISECONDS);
+        assertThat(mockWebServer.takeRequest(5, TimeUnit.SECONDS)).isNotNull();
+
+        connectionWarmer.close();
+        Thread.sleep(100);
+        final int requestCount = mockWebServer.getRequestCount();
+        Thread.sleep(100);
+
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(requestCount);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.http.HttpStatus;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the HaVaultUrlResolver class
+ */
+public class HaVaultUrlResolverTest {
+
+    private MockWebServer standby;
+
+    private MockWebServer active;
+
+    private String standbyUrl;
+
+    private String activeUrl;
+
+    @Before
+    public void setup() throws IOException {
+        standby = new MockWebServer();
+        standby.start();
+        active = new MockWebServer();
+        active.start();
+        standbyUrl = "http://localhost:" + standby.getPort();
+        activeUrl = "http://localhost:" + active.getPort();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        standby.shutdown();
+        active.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_throws_error_if_no_node_urls() {
+        new HaVaultUrlResolver(Collections.<String>emptyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_throws_error_if_node_url_is_invalid() {
+        new HaVaultUrlResolver(Arrays.asList("http://localhost:8200", "not a url"));
+    }
+
+    @Test
+    public void resolve_returns_node_that_is_the_leader() throws InterruptedException {
+        standby.enqueue(leaderResponse(true, false, activeUrl));
+        active.enqueue(leaderResponse(true, true, activeUrl));
+        final HaVaultUrlResolver resolver = new HaVaultUrlResolver(Arrays.asList(activeUrl, standbyUrl));
+
+        assertThat(resolver.resolve()).isEqualTo(activeUrl);
+        assertThat(active.takeRequest().getPath()).isEqualTo("/v1/sys/leader");
+        assertThat(standby.getRequestCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void resolve_returns_leader_reported_by_standby() {
+        standby.enqueue(leaderResponse(true, false, activeUrl + "/"));
+        final HaVaultUrlResolver resolver = new HaVaultUrlResolver(Arrays.asList(standbyUrl, activeUrl));
+
+        assertThat(resolver.resolve()).isEqualTo(activeUrl);
+        assertThat(active.getRequestCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void resolve_returns_node_if_ha_is_not_enabled() {
+        standby.enqueue(leaderResponse(false, false, ""));
+        final HaVaultUrlResolver resolver = new HaVaultUrlResolver(Arrays.asList(standbyUrl, activeUrl));
+
+        assertThat(resolver.resolve()).isEqualTo(standbyUrl);
+    }
+
+    @Test
+    public void resolve_caches_the_leader_until_refreshed() {
+        standby.enqueue(leaderResponse(true, false, activeUrl));
+        standby.enqueue(leaderResponse(true, true, standbyUrl));
+        final HaVaultUrlResolver resolver = new HaVaultUrlResolver(Arrays.asList(standbyUrl, activeUrl));
+
+        assertThat(resolver.resolve()).isEqualTo(activeUrl);
+        assertThat(resolver.resolve()).isEqualTo(activeUrl);
+        assertThat(standby.getRequestCount()).isEqualTo(1);
+
+        resolver.refresh();
+
+        assertThat(resolver.resolve()).isEqualTo(standbyUrl);
+        assertThat(standby.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void resolve_skips_nodes_that_fail() throws IOException {
+        final ServerSocket serverSocket = new ServerSocket(0);
+        try {
+            standby.enqueue(new MockResponse().setResponseCode(HttpStatus.SERVICE_UNAVAILABLE));
+            standby.enqueue(leaderResponse(true, false, ""));
+            active.enqueue(leaderResponse(true, true, activeUrl));
+            final HaVaultUrlResolver resolver = new HaVaultUrlResolver(Arrays.asList(
+                    "http://localhost:" + serverSocket.getLocalPort(), standbyUrl, activeUrl));
+
+            assertThat(resolver.resolve()).isEqualTo(activeUrl);
+        } finally {
+            serverSocket.close();
+        }
+    }
+
+    @Test(expected = VaultClientException.class)
+    public void resolve_throws_client_exception_if_no_node_knows_the_leader() {
+        standby.enqueue(new MockResponse().setResponseCode(HttpStatus.SERVICE_UNAVAILABLE));
+        active.enqueue(leaderResponse(true, false, ""));
+        final HaVaultUrlResolver resolver = new HaVaultUrlResolver(Arrays.asList(standbyUrl, activeUrl));
+
+        resolver.resolve();
+    }
+
+    private MockResponse leaderResponse(final boolean haEnabled, final boolean isSelf, final String leaderAddress) {
+        return new MockResponse()
+                .setResponseCode(HttpStatus.OK)
+                .setBody(String.format("{\"ha_enabled\": %s, \"is_self\": %s, \"leader_address\": \"%s\"}",
+                        haEnabled, isSelf, leaderAddress));
+    }
+}
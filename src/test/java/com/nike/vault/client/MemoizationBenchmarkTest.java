@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.auth.DefaultVaultCredentialsProviderChain;
+import com.nike.vault.client.auth.MemoizingVaultCredentialsProvider;
+import com.nike.vault.client.auth.SystemPropertyVaultCredentialsProvider;
+import com.nike.vault.client.auth.VaultCredentialsProvider;
+import com.nike.vault.client.http.HttpMethod;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Measures the per-call cost of the default URL resolver and credentials provider chain, with and without
+ * memoization.  This is a manual benchmark, remove the {@link Ignore} annotation to run it.  The numbers are averages
+ * of a warmed-up loop timed with {@link System#nanoTime()}, so they are only indicative.
+ */
+@Ignore("Manual benchmark")
+public class MemoizationBenchmarkTest {
+
+    private static final int WARM_UP_ITERATIONS = 1_000_000;
+
+    private static final int ITERATIONS = 5_000_000;
+
+    private int sink;
+
+    @Before
+    public void setup() {
+        System.setProperty(SystemPropertyVaultCredentialsProvider.VAULT_TOKEN_SYS_PROPERTY, "TOKEN");
+        System.setProperty(DefaultVaultUrlResolver.VAULT_ADDR_SYS_PROPERTY, "https://vault.example.com:8200");
+    }
+
+    @After
+    public void teardown() {
+        System.clearProperty(SystemPropertyVaultCredentialsProvider.VAULT_TOKEN_SYS_PROPERTY);
+        System.clearProperty(DefaultVaultUrlResolver.VAULT_ADDR_SYS_PROPERTY);
+        System.out.println("(sink " + sink + ")");
+    }
+
+    @Test
+    public void get_credentials() {
+        final VaultCredentialsProvider chain = new DefaultVaultCredentialsProviderChain();
+        final VaultCredentialsProvider memoized =
+                new MemoizingVaultCredentialsProvider(new DefaultVaultCredentialsProviderChain());
+
+        report("getCredentials", "chain", measure(new Operation() {
+            @Override
+            public int run() {
+                return chain.getCredentials().getToken().length();
+            }
+        }, ITERATIONS));
+        report("getCredentials", "memoized", measure(new Operation() {
+            @Override
+            public int run() {
+                return memoized.getCredentials().getToken().length();
+            }
+        }, ITERATIONS));
+    }
+
+    @Test
+    public void resolve() {
+        final UrlResolver resolver = new DefaultVaultUrlResolver();
+        final UrlResolver memoized = new MemoizingUrlResolver(new DefaultVaultUrlResolver());
+
+        report("resolve", "default", measure(new Operation() {
+            @Override
+            public int run() {
+                return resolver.resolve().length();
+            }
+        }, ITERATIONS));
+        report("resolve", "memoized", measure(new Operation() {
+            @Override
+            public int run() {
+                return memoized.resolve().length();
+            }
+        }, ITERATIONS));
+    }
+
+    @Test
+    public void build_request() {
+        final OkHttpClient httpClient = new OkHttpClient();
+        final VaultClient chainClient = new VaultClient(new DefaultVaultUrlResolver(),
+                new DefaultVaultCredentialsProviderChain(), httpClient);
+        final VaultClient memoizedClient = new VaultClient(new MemoizingUrlResolver(new DefaultVaultUrlResolver()),
+                new MemoizingVaultCredentialsProvider(new DefaultVaultCredentialsProviderChain()), httpClient);
+
+        report("buildRequest", "chain", measureBuildRequest(chainClient));
+        report("buildRequest", "memoized", measureBuildRequest(memoizedClient));
+    }
+
+    private double measureBuildRequest(final VaultClient vaultClient) {
+        return measure(new Operation() {
+            @Override
+            public int run() {
+                final HttpUrl url = vaultClient.buildUrl(VaultClient.SECRET_PATH_PREFIX, "app/api-key");
+                return vaultClient.buildRequest(url, HttpMethod.GET, null).headers().size();
+            }
+        }, ITERATIONS / 2);
+    }
+
+    /**
+     * Returns the average time of the operation in nanoseconds, after running it enough times for the JIT to
+     * compile it.
+     */
+    private double measure(final Operation operation, final int iterations) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            sink += operation.run();
+        }
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += operation.run();
+        }
+        return (double) (System.nanoTime() - start) / iterations;
+    }
+
+    private static void report(final String operation, final String variant, final double nanos) {
+        System.out.println(String.format("%-16s %-10s %8.1f ns", operation, variant, nanos));
+    }
+
+    private interface Operation {
+
+        int run();
+    }
+}
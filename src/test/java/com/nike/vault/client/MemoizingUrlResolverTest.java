@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the MemoizingUrlResolver class
+ */
+public class MemoizingUrlResolverTest {
+
+    @Test
+    public void resolve_asks_the_delegate_once() {
+        final UrlResolver delegate = mock(UrlResolver.class);
+        when(delegate.resolve()).thenReturn("http://vault");
+        final MemoizingUrlResolver urlResolver = new MemoizingUrlResolver(delegate);
+
+        assertThat(urlResolver.resolve()).isEqualTo("http://vault");
+        assertThat(urlResolver.resolve()).isEqualTo("http://vault");
+
+        verify(delegate, times(1)).resolve();
+    }
+
+    @Test
+    public void refresh_asks_the_delegate_again() {
+        final RefreshableUrlResolver delegate = mock(RefreshableUrlResolver.class);
+        when(delegate.resolve()).thenReturn("http://vault-1", "http://vault-2");
+        final MemoizingUrlResolver urlResolver = new MemoizingUrlResolver(delegate);
+
+        assertThat(urlResolver.resolve()).isEqualTo("http://vault-1");
+        urlResolver.refresh();
+
+        verify(delegate).refresh();
+        assertThat(urlResolver.resolve()).isEqualTo("http://vault-2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void delegate_is_required() {
+        new MemoizingUrlResolver(null);
+    }
+}
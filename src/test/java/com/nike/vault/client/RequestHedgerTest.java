@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.auth.TokenVaultCredentials;
+import com.nike.vault.client.auth.VaultCredentials;
+import com.nike.vault.client.auth.VaultCredentialsProvider;
+import com.nike.vault.client.http.HedgingPolicy;
+import com.nike.vault.client.http.HttpStatus;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the RequestHedger class
+ */
+public class RequestHedgerTest {
+
+    private final CountDownLatch releaseSlowResponse = new CountDownLatch(1);
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private MockWebServer mockWebServer;
+
+    private OkHttpClient httpClient;
+
+    private HedgingPolicy policy;
+
+    @Before
+    public void setup() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        httpClient = new OkHttpClient();
+        policy = new HedgingPolicy().setDelay(1, 50, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void teardown() throws IOException {
+        releaseSlowResponse.countDown();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void fast_response_is_not_hedged() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.OK).setBody("first"));
+
+        final Response response = new RequestHedger(policy).execute(httpClient, newRequest());
+
+        assertThat(response.body().string()).isEqualTo("first");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void slow_response_is_hedged_and_first_response_wins() throws IOException {
+        mockWebServer.setDispatcher(new SlowFirstResponseDispatcher());
+
+        final Response response = new RequestHedger(policy).execute(httpClient, newRequest());
+
+        assertThat(response.body().string()).contains("hedged");
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void slow_response_is_not_hedged_if_budget_is_exhausted() throws IOException {
+        policy.setHedgingBudget(0, 0);
+        mockWebServer.setDispatcher(new SlowFirstResponseDispatcher());
+        releaseSlowResponse.countDown();
+
+        final Response response = new RequestHedger(policy).execute(httpClient, newRequest());
+
+        assertThat(response.body().string()).contains("slow");
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void hedging_delay_adapts_to_observed_latency() throws IOException {
+        policy.setSampleSize(20).setDelay(1, 10_000, TimeUnit.MILLISECONDS);
+        final RequestHedger hedger = new RequestHedger(policy);
+        assertThat(hedger.getDelayNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+
+        for (int i = 0; i < 20; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.OK));
+            hedger.execute(httpClient, newRequest()).close();
+        }
+
+        assertThat(hedger.getDelayNanos()).isLessThan(TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    public void vault_client_hedges_reads_when_enabled() {
+        mockWebServer.setDispatcher(new SlowFirstResponseDispatcher());
+        final VaultClient vaultClient = new VaultClient(
+                new StaticVaultUrlResolver("http://localhost:" + mockWebServer.getPort()),
+                new TestVaultCredentialsProvider(),
+                httpClient);
+        vaultClient.setHedgingPolicy(policy);
+
+        assertThat(vaultClient.read("app/api-key").getData().get("value")).isEqualTo("hedged");
+    }
+
+    private Request newRequest() {
+        return new Request.Builder().url(mockWebServer.url("/v1/secret/app/api-key")).build();
+    }
+
+    /**
+     * Holds the first response until the test finishes, and answers any other request straight away.
+     */
+    private class SlowFirstResponseDispatcher extends Dispatcher {
+
+        @Override
+        public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+            if (requests.incrementAndGet() == 1) {
+                releaseSlowResponse.await();
+                return secretResponse("slow");
+            }
+            return secretResponse("hedged");
+        }
+
+        private MockResponse secretResponse(final String value) {
+            return new MockResponse().setResponseCode(HttpStatus.OK)
+                    .setBody(String.format("{\"data\": {\"value\": \"%s\"}}", value));
+        }
+    }
+
+    private static class TestVaultCredentialsProvider implements VaultCredentialsProvider {
+
+        @Override
+        public VaultCredentials getCredentials() {
+            return new TokenVaultCredentials("TOKEN");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.auth.VaultCredentials;
+import com.nike.vault.client.auth.VaultCredentialsProvider;
+import com.nike.vault.client.http.HttpStatus;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the StandbyReadBalancer class
+ */
+public class StandbyReadBalancerTest {
+
+    private static final String SECRET_BODY = "{\"data\": {\"value\": \"world\"}}";
+
+    private MockWebServer active;
+
+    private MockWebServer standby;
+
+    private String standbyUrl;
+
+    private StandbyReadBalancer balancer;
+
+    private VaultClient vaultClient;
+
+    @Before
+    public void setup() throws IOException {
+        active = new MockWebServer();
+        active.start();
+        standby = new MockWebServer();
+        standby.start();
+        standbyUrl = "http://localhost:" + standby.getPort();
+
+        balancer = new StandbyReadBalancer(Collections.singletonList(standbyUrl), new OkHttpClient(),
+                1, TimeUnit.HOURS);
+        final OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(balancer).build();
+        vaultClient = new VaultClient(new StaticVaultUrlResolver("http://localhost:" + active.getPort()),
+                new VaultCredentialsProvider() {
+                    @Override
+                    public VaultCredentials getCredentials() {
+                        return new VaultCredentials() {
+                            @Override
+                            public String getToken() {
+                                return "TOKEN";
+                            }
+                        };
+                    }
+                },
+                httpClient);
+    }
+
+    @After
+    public void teardown() throws IOException {
+        balancer.close();
+        active.shutdown();
+        standby.shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_throws_error_if_no_node_urls() {
+        new StandbyReadBalancer(Collections.<String>emptyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_throws_error_if_node_url_is_invalid() {
+        new StandbyReadBalancer(Arrays.asList("http://localhost:8200", "not a url"));
+    }
+
+    @Test
+    public void reads_go_to_healthy_standby_and_writes_go_to_active_node() throws InterruptedException {
+        standby.enqueue(healthResponse(false, true));
+        balancer.start();
+        standby.takeRequest();
+        standby.enqueue(new MockResponse().setResponseCode(HttpStatus.OK).setBody(SECRET_BODY));
+        active.enqueue(new MockResponse().setResponseCode(HttpStatus.NO_CONTENT));
+
+        assertThat(vaultClient.read("app/api-key").getData().get("value")).isEqualTo("world");
+        vaultClient.write("app/api-key", new HashMap<String, String>());
+
+        assertThat(balancer.getHealthyNodeUrls()).containsExactly(standbyUrl);
+        assertThat(standby.takeRequest().getPath()).isEqualTo("/v1/secret/app/api-key");
+        assertThat(active.takeRequest().getMethod()).isEqualTo("POST");
+        assertThat(active.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void reads_go_to_active_node_if_no_standby_is_healthy() {
+        standby.enqueue(healthResponse(true, true));
+        balancer.checkHealth();
+        active.enqueue(new MockResponse().setResponseCode(HttpStatus.OK).setBody(SECRET_BODY));
+
+        final Map<String, String> data = vaultClient.read("app/api-key").getData();
+
+        assertThat(data.get("value")).isEqualTo("world");
+        assertThat(balancer.getHealthyNodeUrls()).isEmpty();
+        assertThat(standby.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void reads_go_to_active_node_if_standby_is_not_a_performance_standby() {
+        standby.enqueue(healthResponse(false, false));
+        balancer.checkHealth();
+        active.enqueue(new MockResponse().setResponseCode(HttpStatus.OK).setBody(SECRET_BODY));
+
+        final Map<String, String> data = vaultClient.read("app/api-key").getData();
+
+        assertThat(data.get("value")).isEqualTo("world");
+        assertThat(balancer.getHealthyNodeUrls()).isEmpty();
+        assertThat(standby.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void reads_go_to_active_node_if_standby_fails() {
+        standby.enqueue(healthResponse(false, true));
+        balancer.checkHealth();
+        standby.enqueue(new MockResponse().setResponseCode(HttpStatus.SERVICE_UNAVAILABLE));
+        active.enqueue(new MockResponse().setResponseCode(HttpStatus.OK).setBody(SECRET_BODY));
+
+        final Map<String, String> data = vaultClient.read("app/api-key").getData();
+
+        assertThat(data.get("value")).isEqualTo("world");
+        assertThat(balancer.getHealthyNodeUrls()).isEmpty();
+    }
+
+    @Test
+    public void requests_outside_the_secret_backend_go_to_active_node() {
+        standby.enqueue(healthResponse(false, true));
+        balancer.checkHealth();
+        active.enqueue(new MockResponse().setResponseCode(HttpStatus.OK)
+                .setBody("{\"data\": {\"id\": \"TOKEN\"}}"));
+
+        vaultClient.lookupSelf();
+
+        assertThat(active.getRequestCount()).isEqualTo(1);
+        assertThat(standby.getRequestCount()).isEqualTo(1);
+    }
+
+    private MockResponse healthResponse(final boolean sealed, final boolean performanceStandby) {
+        return new MockResponse()
+                .setResponseCode(performanceStandby ? HttpStatus.PERFORMANCE_STANDBY : HttpStatus.TOO_MANY_REQUESTS)
+                .setBody(String.format("{\"initialized\": true, \"sealed\": %s, \"standby\": true, "
+                        + "\"performance_standby\": %s}", sealed, performanceStandby));
+    }
+}
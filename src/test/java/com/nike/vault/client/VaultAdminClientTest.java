@@ -18,19 +18,26 @@ package com.nike.vault.client;
 
 import com.nike.vault.client.auth.VaultCredentials;
 import com.nike.vault.client.auth.VaultCredentialsProvider;
+import com.nike.vault.client.http.HttpHeader;
 import com.nike.vault.client.http.HttpMethod;
 import com.nike.vault.client.http.HttpStatus;
+import com.nike.vault.client.http.RetryPolicy;
 import com.nike.vault.client.model.VaultAuthResponse;
 import com.nike.vault.client.model.VaultClientTokenResponse;
+import com.nike.vault.client.model.VaultCreateTokenResult;
 import com.nike.vault.client.model.VaultEnableAuditBackendRequest;
 import com.nike.vault.client.model.VaultHealthResponse;
 import com.nike.vault.client.model.VaultInitResponse;
+import com.nike.vault.client.model.VaultLeaderResponse;
 import com.nike.vault.client.model.VaultPolicy;
+import com.nike.vault.client.model.VaultRevokeTokensResult;
 import com.nike.vault.client.model.VaultSealStatusResponse;
 import com.nike.vault.client.model.VaultTokenAuthRequest;
 import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.apache.commons.io.IOUtils;
 import org.junit.After;
 import org.junit.Before;
@@ -39,8 +46,14 @@ import org.junit.Test;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -126,6 +139,21 @@ public class VaultAdminClientTest {
         assertThat(actualResponse.isStandby()).isTrue();
     }
 
+    @Test
+    public void health_returns_473_if_healthy_performance_standby() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(HttpStatus.PERFORMANCE_STANDBY);
+        response.setBody(getResponseJson("health-performance-standby"));
+        mockWebServer.enqueue(response);
+
+        final VaultHealthResponse actualResponse = vaultClient.health();
+
+        assertThat(actualResponse).isNotNull();
+        assertThat(actualResponse.isSealed()).isFalse();
+        assertThat(actualResponse.isStandby()).isTrue();
+        assertThat(actualResponse.isPerformanceStandby()).isTrue();
+    }
+
     @Test
     public void health_returns_500_if_sealed() {
         final MockResponse response = new MockResponse();
@@ -141,6 +169,22 @@ public class VaultAdminClientTest {
         assertThat(actualResponse.isStandby()).isTrue();
     }
 
+    @Test
+    public void leader_returns_leader_details() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(HttpStatus.OK);
+        response.setBody(getResponseJson("leader-standby"));
+        mockWebServer.enqueue(response);
+
+        final VaultLeaderResponse actualResponse = vaultClient.leader();
+
+        assertThat(actualResponse).isNotNull();
+        assertThat(actualResponse.isHaEnabled()).isTrue();
+        assertThat(actualResponse.isSelf()).isFalse();
+        assertThat(actualResponse.getLeaderAddress()).isEqualTo("https://127.0.0.1:8200/");
+        assertThat(actualResponse.getLeaderClusterAddress()).isEqualTo("https://127.0.0.1:8201/");
+    }
+
     @Test(expected = VaultServerException.class)
     public void health_throws_server_exception_if_unexpected_response() {
         final MockResponse response = new MockResponse();
@@ -307,6 +351,160 @@ public class VaultAdminClientTest {
         vaultClient.createToken(request);
     }
 
+    @Test
+    public void create_tokens_returns_results_in_order_with_errors() throws InterruptedException {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                final String body = request.getBody().readUtf8();
+                if (body.contains("\"bad\"")) {
+                    return new MockResponse().setResponseCode(HttpStatus.BAD_REQUEST).setBody(getResponseJson("error"));
+                }
+                final String displayName = body.replaceAll(".*\"display_name\":\"([^\"]*)\".*", "$1");
+                return new MockResponse().setResponseCode(HttpStatus.OK).setBody(
+                        "{\"auth\": {\"client_token\": \"token-" + displayName + "\", \"lease_duration\": 60}}");
+            }
+        });
+
+        final List<VaultTokenAuthRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(new VaultTokenAuthRequest().setDisplayName(i == 7 ? "bad" : String.valueOf(i)));
+        }
+
+        final List<VaultCreateTokenResult> results = vaultClient.createTokens(requests, 4);
+
+        assertThat(results).hasSize(20);
+        for (int i = 0; i < 20; i++) {
+            assertThat(results.get(i).getRequest()).isSameAs(requests.get(i));
+            if (i == 7) {
+                assertThat(results.get(i).isSuccessful()).isFalse();
+                assertThat(results.get(i).getError()).isInstanceOf(VaultServerException.class);
+            } else {
+                assertThat(results.get(i).isSuccessful()).isTrue();
+                assertThat(results.get(i).getAuth().getClientToken()).isEqualTo("token-" + i);
+            }
+        }
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/v1/auth/token/create");
+    }
+
+    @Test
+    public void create_orphan_tokens_uses_the_orphan_endpoint() throws InterruptedException {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(HttpStatus.OK);
+        response.setBody(getResponseJson("auth"));
+        mockWebServer.enqueue(response);
+
+        final List<VaultCreateTokenResult> results = vaultClient.createOrphanTokens(
+                Collections.singletonList(new VaultTokenAuthRequest()), 2);
+
+        assertThat(results.get(0).getAuth().getClientToken()).isEqualTo("ABCD");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/v1/auth/token/create-orphan");
+    }
+
+    @Test
+    public void create_tokens_returns_empty_list_for_no_requests() {
+        assertThat(vaultClient.createTokens(Collections.<VaultTokenAuthRequest>emptyList())).isEmpty();
+    }
+
+    @Test
+    public void revoke_tokens_reports_revoked_not_found_and_failed_tokens() {
+        final AtomicInteger flakyAttempts = new AtomicInteger();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                if (request.getPath().endsWith("/gone")) {
+                    return new MockResponse().setResponseCode(HttpStatus.NOT_FOUND).setBody(getResponseJson("error"));
+                } else if (request.getPath().endsWith("/denied")) {
+                    return new MockResponse().setResponseCode(HttpStatus.FORBIDDEN).setBody(getResponseJson("error"));
+                } else if (request.getPath().endsWith("/flaky") && flakyAttempts.incrementAndGet() == 1) {
+                    return new MockResponse().setResponseCode(HttpStatus.SERVICE_UNAVAILABLE)
+                            .setBody(getResponseJson("error"));
+                }
+                return new MockResponse().setResponseCode(HttpStatus.NO_CONTENT);
+            }
+        });
+        final List<String> progress = Collections.synchronizedList(new ArrayList<String>());
+        final BulkRevokeSettings settings = new BulkRevokeSettings()
+                .setConcurrency(3)
+                .setRetryPolicy(new RetryPolicy().setDelay(1, 5, TimeUnit.MILLISECONDS))
+                .setProgressListener(new RevokeProgressListener() {
+                    @Override
+                    public void onProgress(final String token, final VaultRevokeTokensResult.Outcome outcome,
+                                           final int completed, final int total) {
+                        assertThat(total).isEqualTo(5);
+                        progress.add(token + "=" + outcome);
+                    }
+                });
+
+        final VaultRevokeTokensResult result = vaultClient.revokeTokens(
+                Arrays.asList("one", "gone", "flaky", "denied", "two"), settings);
+
+        assertThat(result.getRevoked()).containsExactly("one", "flaky", "two");
+        assertThat(result.getNotFound()).containsExactly("gone");
+        assertThat(result.getFailed()).containsOnlyKeys("denied");
+        assertThat(((VaultServerException) result.getFailed().get("denied")).getCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(flakyAttempts.get()).isEqualTo(2);
+        assertThat(progress).containsOnly("one=REVOKED", "gone=NOT_FOUND", "flaky=REVOKED", "denied=FAILED",
+                "two=REVOKED");
+    }
+
+    @Test
+    public void revoke_tokens_keeps_the_result_if_the_progress_listener_fails() {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                return new MockResponse().setResponseCode(HttpStatus.NO_CONTENT);
+            }
+        });
+        final BulkRevokeSettings settings = new BulkRevokeSettings()
+                .setConcurrency(2)
+                .setProgressListener(new RevokeProgressListener() {
+                    @Override
+                    public void onProgress(final String token, final VaultRevokeTokensResult.Outcome outcome,
+                                           final int completed, final int total) {
+                        throw new IllegalStateException("listener failed");
+                    }
+                });
+
+        final VaultRevokeTokensResult result = vaultClient.revokeTokens(Arrays.asList("a", "b", "c"), settings);
+
+        assertThat(result.getRevoked()).containsExactly("a", "b", "c");
+        assertThat(result.getFailed()).isEmpty();
+    }
+
+    @Test
+    public void revoke_tokens_limits_the_rate() throws InterruptedException {
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                return new MockResponse().setResponseCode(HttpStatus.NO_CONTENT);
+            }
+        });
+
+        final long start = System.nanoTime();
+        final VaultRevokeTokensResult result = vaultClient.revokeOrphanTokens(Arrays.asList("a", "b", "c", "d", "e"),
+                new BulkRevokeSettings().setConcurrency(5).setRateLimit(20));
+
+        assertThat(result.getRevoked()).hasSize(5);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(190);
+        assertThat(mockWebServer.takeRequest().getPath()).startsWith("/v1/auth/token/revoke-orphan/");
+    }
+
+    @Test
+    public void with_token_returns_an_admin_client_view() throws InterruptedException {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(HttpStatus.OK);
+        response.setBody(getResponseJson("auth"));
+        mockWebServer.enqueue(response);
+
+        final VaultAdminClient tenantClient = vaultClient.withToken("TENANT_TOKEN");
+        tenantClient.createOrphanToken(new VaultTokenAuthRequest());
+
+        assertThat(tenantClient.getHttpClient()).isSameAs(vaultClient.getHttpClient());
+        assertThat(mockWebServer.takeRequest().getHeader(HttpHeader.VAULT_TOKEN)).isEqualTo("TENANT_TOKEN");
+    }
+
     @Test
     public void create_orphan_token_returns_ok_if_created() {
         final MockResponse response = new MockResponse();
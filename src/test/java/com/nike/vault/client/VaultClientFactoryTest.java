@@ -19,10 +19,17 @@ package com.nike.vault.client;
 import com.nike.vault.client.auth.TokenVaultCredentials;
 import com.nike.vault.client.auth.VaultCredentials;
 import com.nike.vault.client.auth.VaultCredentialsProvider;
+import com.nike.vault.client.http.CachingDns;
+import okhttp3.ConnectionSpec;
+import okhttp3.Dns;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -133,4 +140,75 @@ public class VaultClientFactoryTest {
         assertThat(client.getDefaultHeaders().size()).isEqualTo(1);
         assertThat(client.getDefaultHeaders().get(headerKey)).isEqualTo(headerValue);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_get_client_uses_http_client_settings() {
+        final VaultClient client = VaultClientFactory.getClient(urlResolver, credentialsProvider,
+                new HashMap<String, String>(),
+                new HttpClientSettings()
+                        .setConnectTimeoutMillis(1_000)
+                        .setReadTimeoutMillis(2_000)
+                        .setWriteTimeoutMillis(3_000)
+                        .setMaxRequests(10)
+                        .setMaxRequestsPerHost(4)
+                        .setConnectionPool(2, 30, TimeUnit.SECONDS));
+
+        assertThat(client.getHttpClient().connectTimeoutMillis()).isEqualTo(1_000);
+        assertThat(client.getHttpClient().readTimeoutMillis()).isEqualTo(2_000);
+        assertThat(client.getHttpClient().writeTimeoutMillis()).isEqualTo(3_000);
+        assertThat(client.getHttpClient().dispatcher().getMaxRequests()).isEqualTo(10);
+        assertThat(client.getHttpClient().dispatcher().getMaxRequestsPerHost()).isEqualTo(4);
+    }
+
+    @Test
+    public void test_get_admin_client_keeps_max_requests_defaults() {
+        final VaultAdminClient client = VaultClientFactory.getAdminClient(urlResolver, credentialsProvider);
+
+        assertThat(client.getHttpClient().dispatcher().getMaxRequests()).isEqualTo(200);
+        assertThat(client.getHttpClient().dispatcher().getMaxRequestsPerHost()).isEqualTo(200);
+    }
+
+    @Test
+    public void test_build_http_client_uses_protocol_settings() {
+        assertThat(VaultClientFactory.buildHttpClient(new HttpClientSettings()).protocols())
+                .containsExactly(Protocol.HTTP_2, Protocol.HTTP_1_1);
+        assertThat(VaultClientFactory.buildHttpClient(new HttpClientSettings().setHttp2(false)).protocols())
+                .containsExactly(Protocol.HTTP_1_1);
+        assertThat(VaultClientFactory.buildHttpClient(new HttpClientSettings().setHttp2(true)).protocols())
+                .containsExactly(Protocol.HTTP_2, Protocol.HTTP_1_1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_http_client_settings_require_http_1_1() {
+        new HttpClientSettings().setProtocols(Collections.singletonList(Protocol.HTTP_2));
+    }
+
+    @Test
+    public void test_build_http_client_can_disallow_cleartext() {
+        assertThat(VaultClientFactory.buildHttpClient(new HttpClientSettings()).connectionSpecs())
+                .contains(ConnectionSpec.CLEARTEXT);
+        assertThat(VaultClientFactory.buildHttpClient(new HttpClientSettings().setAllowCleartext(false))
+                .connectionSpecs())
+                .containsExactly(VaultClientFactory.TLS_1_2_OR_NEWER);
+    }
+
+    @Test
+    public void test_build_http_client_shares_the_tls_session_cache() {
+        final HttpClientSettings settings = new HttpClientSettings().setSharedTlsSessionCache(100, 1, TimeUnit.HOURS);
+
+        final OkHttpClient first = VaultClientFactory.buildHttpClient(settings);
+        final OkHttpClient second = VaultClientFactory.buildHttpClient(settings);
+
+        assertThat(first.sslSocketFactory()).isSameAs(second.sslSocketFactory());
+        assertThat(VaultClientFactory.buildHttpClient(new HttpClientSettings()).sslSocketFactory())
+                .isNotSameAs(first.sslSocketFactory());
+    }
+
+    @Test
+    public void test_build_http_client_uses_the_dns() {
+        final CachingDns dns = new CachingDns();
+
+        assertThat(VaultClientFactory.buildHttpClient(new HttpClientSettings().setDns(dns)).dns()).isSameAs(dns);
+        assertThat(VaultClientFactory.buildHttpClient(new HttpClientSettings()).dns()).isSameAs(Dns.SYSTEM);
+    }
+}
@@ -16,34 +16,61 @@
 
 package com.nike.vault.client;
 
+import com.google.gson.reflect.TypeToken;
 import com.nike.vault.client.auth.DefaultVaultCredentialsProviderChain;
+import com.nike.vault.client.auth.RefreshableVaultCredentialsProvider;
+import com.nike.vault.client.auth.TokenVaultCredentials;
 import com.nike.vault.client.auth.VaultCredentials;
 import com.nike.vault.client.auth.VaultCredentialsProvider;
+import com.nike.vault.client.http.CircuitBreakerInterceptor;
+import com.nike.vault.client.http.CircuitBreakerPolicy;
+import com.nike.vault.client.http.HttpHeader;
 import com.nike.vault.client.http.HttpStatus;
+import com.nike.vault.client.model.VaultAuthResponse;
 import com.nike.vault.client.model.VaultClientTokenResponse;
 import com.nike.vault.client.model.VaultListResponse;
 import com.nike.vault.client.model.VaultResponse;
+import com.nike.vault.client.model.VaultSecretResponse;
+import com.nike.vault.client.model.VaultSecretValue;
 import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.ByteString;
 import org.apache.commons.io.IOUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Type;
 import java.net.ServerSocket;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -149,6 +176,295 @@ public class VaultClientTest {
         }
     }
 
+    @Test
+    public void read_with_type_binds_data_to_class() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(200);
+        response.setBody("{\"lease_id\": \"\", \"data\": {\"value\": \"world\", \"port\": 8080, \"enabled\": true}}");
+        mockWebServer.enqueue(response);
+
+        final TestConfig config = vaultClient.read("app/config", TestConfig.class);
+
+        assertThat(config).isNotNull();
+        assertThat(config.value).isEqualTo("world");
+        assertThat(config.port).isEqualTo(8080);
+        assertThat(config.enabled).isTrue();
+    }
+
+    @Test
+    public void read_with_type_supports_generic_types() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(200);
+        response.setBody("{\"data\": {\"value\": \"world\", \"ports\": [1, 2]}}");
+        mockWebServer.enqueue(response);
+
+        final Type mapType = new TypeToken<Map<String, Object>>() {
+        }.getType();
+        final Map<String, Object> data = vaultClient.read("app/config", mapType);
+
+        assertThat(data).containsEntry("value", "world");
+        assertThat((List<?>) data.get("ports")).hasSize(2);
+    }
+
+    @Test
+    public void read_with_type_returns_null_if_no_data() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(200);
+        response.setBody("{\"lease_id\": \"\"}");
+        mockWebServer.enqueue(response);
+
+        assertThat(vaultClient.read("app/config", TestConfig.class)).isNull();
+    }
+
+    @Test(expected = VaultServerException.class)
+    public void read_with_type_throws_vault_server_exception_if_response_is_not_ok() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(404);
+        response.setBody(getResponseJson("error"));
+        mockWebServer.enqueue(response);
+
+        vaultClient.read("app/not-found-path", TestConfig.class);
+    }
+
+    @Test(expected = VaultClientException.class)
+    public void read_with_type_throws_client_exception_if_data_does_not_match_type() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(200);
+        response.setBody("{\"data\": {\"port\": \"not a number\"}}");
+        mockWebServer.enqueue(response);
+
+        vaultClient.read("app/config", TestConfig.class);
+    }
+
+    @Test
+    public void read_all_returns_data_for_each_path_in_order() throws InterruptedException {
+        final MockResponse first = new MockResponse();
+        first.setResponseCode(200);
+        first.setBody("{\"data\": {\"value\": \"one\"}}");
+        mockWebServer.enqueue(first);
+        final MockResponse second = new MockResponse();
+        second.setResponseCode(200);
+        second.setBody("{\"data\": {\"value\": \"two\"}}");
+        mockWebServer.enqueue(second);
+
+        final Map<String, TestConfig> results = vaultClient.readAll(Arrays.asList("app/one", "app/two"), TestConfig.class);
+
+        assertThat(results.keySet()).containsExactly("app/one", "app/two");
+        assertThat(results.get("app/one").value).isEqualTo("one");
+        assertThat(results.get("app/two").value).isEqualTo("two");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/v1/secret/app/one");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/v1/secret/app/two");
+    }
+
+    @Test
+    public void read_raw_returns_response_body_unchanged() {
+        final String body = getResponseJson("secret");
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(200);
+        response.setBody(body);
+        mockWebServer.enqueue(response);
+
+        final ByteString raw = vaultClient.readRaw("app/api-key");
+
+        assertThat(raw.utf8()).isEqualTo(body);
+    }
+
+    @Test
+    public void read_raw_writes_response_body_to_output_stream() {
+        final String body = getResponseJson("secret");
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(200);
+        response.setBody(body);
+        mockWebServer.enqueue(response);
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final long bytesWritten = vaultClient.readRaw("app/api-key", outputStream);
+
+        assertThat(new String(outputStream.toByteArray(), Charset.forName("UTF-8"))).isEqualTo(body);
+        assertThat(bytesWritten).isEqualTo(outputStream.size());
+    }
+
+    @Test
+    public void read_raw_throws_vault_server_exception_if_response_is_not_ok() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(403);
+        response.setBody(getResponseJson("error"));
+        mockWebServer.enqueue(response);
+
+        try {
+            vaultClient.readRaw("app/not-allowed");
+            fail("Expected a VaultServerException");
+        } catch (VaultServerException se) {
+            assertThat(se.getCode()).isEqualTo(403);
+            assertThat(se.getErrors()).hasSize(2);
+        }
+    }
+
+    @Test
+    public void list_raw_returns_response_body_unchanged() throws InterruptedException {
+        final String body = getResponseJson("list");
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(200);
+        response.setBody(body);
+        mockWebServer.enqueue(response);
+
+        final ByteString raw = vaultClient.listRaw("app/demo");
+
+        assertThat(raw.utf8()).isEqualTo(body);
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/v1/secret/app/demo?list=true");
+    }
+
+    @Test
+    public void list_raw_returns_empty_body_if_vault_returns_a_404() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(404);
+        mockWebServer.enqueue(response);
+
+        assertThat(vaultClient.listRaw("app/demo")).isEqualTo(ByteString.EMPTY);
+    }
+
+    @Test
+    public void list_raw_writes_nothing_if_vault_returns_a_404() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(404);
+        mockWebServer.enqueue(response);
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        assertThat(vaultClient.listRaw("app/demo", outputStream)).isEqualTo(0);
+        assertThat(outputStream.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void read_secret_returns_wipeable_data_for_specified_path_if_exists() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(200);
+        response.setBody(getResponseJson("secret"));
+        mockWebServer.enqueue(response);
+
+        final VaultSecretResponse vaultSecretResponse = vaultClient.readSecret("app/api-key");
+
+        assertThat(vaultSecretResponse).isNotNull();
+        assertThat(vaultSecretResponse.getData().containsKey("value")).isTrue();
+        final VaultSecretValue value = vaultSecretResponse.getData().get("value");
+        assertThat(new String(value.getValue())).isEqualTo("world");
+
+        vaultSecretResponse.close();
+
+        assertThat(value.isWiped()).isTrue();
+    }
+
+    @Test
+    public void read_secret_throws_vault_server_exception_if_response_is_not_ok() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(404);
+        response.setBody(getResponseJson("error"));
+        mockWebServer.enqueue(response);
+
+        try {
+            vaultClient.readSecret("app/not-found-path");
+        } catch (VaultServerException se) {
+            assertThat(se.getCode()).isEqualTo(404);
+            assertThat(se.getErrors()).hasSize(2);
+        }
+    }
+
+    @Test(expected = VaultClientException.class)
+    public void read_secret_throws_client_exception_if_body_is_malformed() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(200);
+        response.setBody("{\"data\": {\"value\": ");
+        mockWebServer.enqueue(response);
+
+        vaultClient.readSecret("app/api-key");
+    }
+
+    @Test
+    public void read_throws_vault_server_exception_with_formatted_message() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(403);
+        response.setBody(getResponseJson("error"));
+        mockWebServer.enqueue(response);
+
+        try {
+            vaultClient.read("app/not-allowed");
+            fail("Expected a VaultServerException");
+        } catch (VaultServerException se) {
+            assertThat(se.getMessage()).isEqualTo("Response Code: 403, Messages: message, oh noes");
+        }
+    }
+
+    @Test
+    public void read_throws_vault_server_exception_with_no_errors_if_error_body_is_empty() {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(503);
+        mockWebServer.enqueue(response);
+
+        try {
+            vaultClient.read("app/api-key");
+            fail("Expected a VaultServerException");
+        } catch (VaultServerException se) {
+            assertThat(se.getCode()).isEqualTo(503);
+            assertThat(se.getErrors()).isEmpty();
+        }
+    }
+
+    @Test
+    public void read_only_parses_errors_from_the_start_of_a_large_error_body() {
+        final StringBuilder body = new StringBuilder("{\"errors\": [\"message\", \"oh noes\"], \"padding\": \"");
+        for (int i = 0; i < VaultClient.MAX_ERROR_BODY_BYTES * 4; i++) {
+            body.append('x');
+        }
+        body.append("\"}");
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(500);
+        response.setBody(body.toString());
+        mockWebServer.enqueue(response);
+
+        try {
+            vaultClient.read("app/api-key");
+            fail("Expected a VaultServerException");
+        } catch (VaultServerException se) {
+            assertThat(se.getCode()).isEqualTo(500);
+            assertThat(se.getErrors()).containsExactly("message", "oh noes");
+        }
+    }
+
+    @Test
+    public void read_keeps_errors_read_before_a_truncated_error_body_is_cut_off() {
+        final StringBuilder body = new StringBuilder("{\"errors\": [\"message\", \"");
+        for (int i = 0; i < VaultClient.MAX_ERROR_BODY_BYTES * 4; i++) {
+            body.append('x');
+        }
+        body.append("\"]}");
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(500);
+        response.setBody(body.toString());
+        mockWebServer.enqueue(response);
+
+        try {
+            vaultClient.read("app/api-key");
+            fail("Expected a VaultServerException");
+        } catch (VaultServerException se) {
+            assertThat(se.getErrors()).containsExactly("message");
+        }
+    }
+
+    @Test(expected = VaultClientException.class)
+    public void read_throws_client_exception_if_error_body_is_not_json() {
+        final StringBuilder body = new StringBuilder("<html><body>");
+        for (int i = 0; i < VaultClient.MAX_ERROR_BODY_BYTES * 4; i++) {
+            body.append("bad gateway ");
+        }
+        body.append("</body></html>");
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(502);
+        response.setBody(body.toString());
+        mockWebServer.enqueue(response);
+
+        vaultClient.read("app/api-key");
+    }
+
     @Test(expected = VaultClientException.class)
     public void read_throws_runtime_exception_if_unexpected_error_encountered() throws IOException {
         final ServerSocket serverSocket = new ServerSocket(0);
@@ -258,6 +574,28 @@ public class VaultClientTest {
         assertThat(actualResponse.getPolicies()).contains("web", "stage");
         assertThat(actualResponse.getDisplayName()).isEqualTo("token-foo");
         assertThat(actualResponse.getNumUses()).isEqualTo(0);
+        assertThat(actualResponse.getTtl()).isEqualTo(2764799);
+        assertThat(actualResponse.getCreationTtl()).isEqualTo(2764800);
+        assertThat(actualResponse.isRenewable()).isTrue();
+    }
+
+    @Test
+    public void renew_self_returns_the_renewed_token() throws InterruptedException {
+        final MockResponse response = new MockResponse();
+        response.setResponseCode(HttpStatus.OK);
+        response.setBody(getResponseJson("auth"));
+        mockWebServer.enqueue(response);
+
+        final VaultAuthResponse actualResponse = vaultClient.renewSelf(3600);
+
+        assertThat(actualResponse.getClientToken()).isEqualTo("ABCD");
+        assertThat(actualResponse.getLeaseDuration()).isEqualTo(3600);
+        assertThat(actualResponse.isRenewable()).isTrue();
+
+        final RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getPath()).isEqualTo("/v1/auth/token/renew-self");
+        assertThat(request.getBody().readUtf8()).isEqualTo("{\"increment\":3600}");
     }
 
     @Test(expected = VaultServerException.class)
@@ -270,6 +608,184 @@ public class VaultClientTest {
         vaultClient.lookupSelf();
     }
 
+    @Test
+    public void with_token_returns_a_view_that_shares_the_transport() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.OK).setBody(getResponseJson("secret")));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.OK).setBody(getResponseJson("secret")));
+
+        final VaultClient tenantClient = vaultClient.withToken("TENANT_TOKEN");
+
+        assertThat(tenantClient.read("app/api-key").getData()).containsEntry("value", "world");
+        assertThat(vaultClient.read("app/api-key").getData()).containsEntry("value", "world");
+
+        assertThat(mockWebServer.takeRequest().getHeader(HttpHeader.VAULT_TOKEN)).isEqualTo("TENANT_TOKEN");
+        assertThat(mockWebServer.takeRequest().getHeader(HttpHeader.VAULT_TOKEN)).isEqualTo("TOKEN");
+        assertThat(tenantClient.getHttpClient()).isSameAs(vaultClient.getHttpClient());
+        assertThat(tenantClient.getGson()).isSameAs(vaultClient.getGson());
+        assertThat(tenantClient.getVaultUrl()).isEqualTo(vaultClient.getVaultUrl());
+    }
+
+    @Test
+    public void with_credentials_returns_a_view_using_the_credentials_provider() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.NO_CONTENT));
+        final VaultCredentialsProvider tenantCredentialsProvider = mock(VaultCredentialsProvider.class);
+        when(tenantCredentialsProvider.getCredentials()).thenReturn(new TokenVaultCredentials("TENANT_TOKEN"));
+
+        final VaultClient tenantClient = vaultClient.withCredentials(tenantCredentialsProvider);
+        tenantClient.delete("app/api-key");
+
+        assertThat(tenantClient.getCredentialsProvider()).isSameAs(tenantCredentialsProvider);
+        assertThat(mockWebServer.takeRequest().getHeader(HttpHeader.VAULT_TOKEN)).isEqualTo("TENANT_TOKEN");
+    }
+
+    @Test
+    public void views_share_the_resolved_vault_url() {
+        final UrlResolver urlResolver = mock(UrlResolver.class);
+        when(urlResolver.resolve()).thenReturn("http://vault-1:8200", "http://vault-2:8200");
+        vaultClient = new VaultClient(urlResolver, vaultClient.getCredentialsProvider(),
+                buildHttpClient(1, TimeUnit.SECONDS));
+        final VaultClient tenantClient = vaultClient.withToken("TENANT_TOKEN");
+
+        assertThat(tenantClient.getVaultUrl().host()).isEqualTo("vault-1");
+
+        vaultClient.refreshVaultUrl();
+
+        assertThat(tenantClient.getVaultUrl().host()).isEqualTo("vault-2");
+        assertThat(vaultClient.withToken("OTHER_TOKEN").getVaultUrl().host()).isEqualTo("vault-2");
+        verify(urlResolver, times(2)).resolve();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void with_token_requires_a_token() {
+        vaultClient.withToken(" ");
+    }
+
+    @Test
+    public void forbidden_requests_are_retried_once_after_reauthenticating() throws InterruptedException {
+        final RefreshingCredentialsProvider credentialsProvider = new RefreshingCredentialsProvider();
+        final VaultClient reauthenticatingClient = vaultClient.withCredentials(credentialsProvider);
+        reauthenticatingClient.setReauthenticateOnForbidden(true);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.FORBIDDEN).setBody(getResponseJson("error")));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.FORBIDDEN).setBody(getResponseJson("error")));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.OK).setBody(getResponseJson("secret")));
+
+        assertThat(reauthenticatingClient.read("app/api-key").getData()).containsEntry("value", "world");
+
+        assertThat(credentialsProvider.refreshes.get()).isEqualTo(1);
+        assertThat(mockWebServer.takeRequest().getHeader(HttpHeader.VAULT_TOKEN)).isEqualTo("token-0");
+        final RecordedRequest lookup = mockWebServer.takeRequest();
+        assertThat(lookup.getPath()).isEqualTo("/v1/auth/token/lookup-self");
+        assertThat(lookup.getHeader(HttpHeader.VAULT_TOKEN)).isEqualTo("token-0");
+        assertThat(mockWebServer.takeRequest().getHeader(HttpHeader.VAULT_TOKEN)).isEqualTo("token-1");
+    }
+
+    @Test
+    public void concurrent_forbidden_requests_share_a_single_reauthentication() throws Exception {
+        final RefreshingCredentialsProvider credentialsProvider = new RefreshingCredentialsProvider();
+        final VaultClient reauthenticatingClient = vaultClient.withCredentials(credentialsProvider);
+        reauthenticatingClient.setReauthenticateOnForbidden(true);
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                if ("token-0".equals(request.getHeader(HttpHeader.VAULT_TOKEN))) {
+                    return new MockResponse().setResponseCode(HttpStatus.FORBIDDEN).setBody(getResponseJson("error"));
+                }
+                return new MockResponse().setResponseCode(HttpStatus.OK).setBody(getResponseJson("secret"));
+            }
+        });
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<VaultResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(new Callable<VaultResponse>() {
+                    @Override
+                    public VaultResponse call() throws InterruptedException {
+                        start.await();
+                        return reauthenticatingClient.read("app/api-key");
+                    }
+                }));
+            }
+            start.countDown();
+
+            for (final Future<VaultResponse> response : responses) {
+                assertThat(response.get(10, TimeUnit.SECONDS).getData()).containsEntry("value", "world");
+            }
+            assertThat(credentialsProvider.refreshes.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void forbidden_requests_are_not_retried_by_default() {
+        final RefreshingCredentialsProvider credentialsProvider = new RefreshingCredentialsProvider();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.FORBIDDEN).setBody(getResponseJson("error")));
+
+        try {
+            vaultClient.withCredentials(credentialsProvider).read("app/api-key");
+            fail("expected VaultServerException");
+        } catch (VaultServerException e) {
+            assertThat(e.getCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        }
+
+        assertThat(credentialsProvider.refreshes.get()).isEqualTo(0);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void forbidden_requests_are_not_retried_if_the_token_does_not_change() {
+        final VaultCredentialsProvider credentialsProvider = mock(RefreshableVaultCredentialsProvider.class);
+        when(credentialsProvider.getCredentials()).thenReturn(new TokenVaultCredentials("TOKEN"));
+        final VaultClient reauthenticatingClient = vaultClient.withCredentials(credentialsProvider);
+        reauthenticatingClient.setReauthenticateOnForbidden(true);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.FORBIDDEN).setBody(getResponseJson("error")));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.FORBIDDEN).setBody(getResponseJson("error")));
+
+        try {
+            reauthenticatingClient.read("app/api-key");
+            fail("expected VaultServerException");
+        } catch (VaultServerException e) {
+            assertThat(e.getCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        }
+
+        verify((RefreshableVaultCredentialsProvider) credentialsProvider).refresh();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void requests_denied_by_policy_do_not_reauthenticate() {
+        final RefreshingCredentialsProvider credentialsProvider = new RefreshingCredentialsProvider();
+        final VaultClient reauthenticatingClient = vaultClient.withCredentials(credentialsProvider);
+        reauthenticatingClient.setReauthenticateOnForbidden(true);
+        final AtomicInteger lookups = new AtomicInteger();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                if (request.getPath().equals("/v1/auth/token/lookup-self")) {
+                    lookups.incrementAndGet();
+                    return new MockResponse().setResponseCode(HttpStatus.OK)
+                            .setBody("{\"data\": {\"id\": \"token-0\"}}");
+                }
+                return new MockResponse().setResponseCode(HttpStatus.FORBIDDEN).setBody(getResponseJson("error"));
+            }
+        });
+
+        for (int i = 0; i < 10; i++) {
+            try {
+                reauthenticatingClient.read("app/denied");
+                fail("expected VaultServerException");
+            } catch (VaultServerException e) {
+                assertThat(e.getCode()).isEqualTo(HttpStatus.FORBIDDEN);
+            }
+        }
+
+        assertThat(credentialsProvider.refreshes.get()).isEqualTo(0);
+        assertThat(lookups.get()).isEqualTo(1);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(11);
+    }
+
     @Test
     public void build_request_includes_default_headers() throws IOException {
         final String headerKey = "headerKey";
@@ -287,6 +803,193 @@ public class VaultClientTest {
         assertThat(result.headers().get(headerKey)).isEqualTo(headerValue);
     }
 
+    @Test
+    public void vault_url_is_only_resolved_once() throws InterruptedException {
+        final UrlResolver urlResolver = mock(UrlResolver.class);
+        when(urlResolver.resolve()).thenReturn("http://localhost:" + mockWebServer.getPort());
+        vaultClient = VaultClientFactory.getClient(urlResolver, vaultClient.getCredentialsProvider());
+        mockWebServer.enqueue(new MockResponse().setResponseCode(204));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(204));
+
+        vaultClient.delete("app/one");
+        vaultClient.delete("app/two");
+
+        verify(urlResolver, times(1)).resolve();
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/v1/secret/app/one");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/v1/secret/app/two");
+    }
+
+    @Test
+    public void refresh_vault_url_resolves_the_url_again() {
+        final UrlResolver urlResolver = mock(UrlResolver.class);
+        when(urlResolver.resolve()).thenReturn("http://one.example.com", "http://two.example.com");
+        vaultClient = VaultClientFactory.getClient(urlResolver, vaultClient.getCredentialsProvider());
+
+        assertThat(vaultClient.getVaultUrl().host()).isEqualTo("one.example.com");
+        assertThat(vaultClient.getVaultUrl().host()).isEqualTo("one.example.com");
+
+        vaultClient.refreshVaultUrl();
+
+        assertThat(vaultClient.getVaultUrl().host()).isEqualTo("two.example.com");
+    }
+
+    @Test
+    public void vault_url_is_resolved_again_after_the_refresh_interval() {
+        final UrlResolver urlResolver = mock(UrlResolver.class);
+        when(urlResolver.resolve()).thenReturn("http://one.example.com", "http://two.example.com");
+        vaultClient = VaultClientFactory.getClient(urlResolver, vaultClient.getCredentialsProvider());
+        vaultClient.setVaultUrlRefreshInterval(1, TimeUnit.NANOSECONDS);
+
+        assertThat(vaultClient.getVaultUrl().host()).isEqualTo("one.example.com");
+        assertThat(vaultClient.getVaultUrl().host()).isEqualTo("two.example.com");
+    }
+
+    @Test(expected = VaultClientException.class)
+    public void vault_url_throws_client_exception_if_resolved_url_is_invalid() {
+        vaultClient = VaultClientFactory.getClient(new StaticVaultUrlResolver("not a url"),
+                vaultClient.getCredentialsProvider());
+
+        vaultClient.getVaultUrl();
+    }
+
+    @Test
+    public void build_url_appends_path_to_vault_url_with_a_path() {
+        vaultClient = VaultClientFactory.getClient(new StaticVaultUrlResolver("https://example.com/vault"),
+                vaultClient.getCredentialsProvider());
+
+        assertThat(vaultClient.buildUrl(VaultClient.SECRET_PATH_PREFIX, "app/api-key").toString())
+                .isEqualTo("https://example.com/vault/v1/secret/app/api-key");
+        assertThat(vaultClient.buildUrl("", "v1/sys/health?standbyok=true").toString())
+                .isEqualTo("https://example.com/vault/v1/sys/health?standbyok=true");
+    }
+
+    @Test
+    public void build_url_appends_path_to_vault_url_with_a_trailing_slash() {
+        vaultClient = VaultClientFactory.getClient(new StaticVaultUrlResolver("https://example.com/"),
+                vaultClient.getCredentialsProvider());
+
+        assertThat(vaultClient.buildUrl(VaultClient.SECRET_PATH_PREFIX, "app/api-key").toString())
+                .isEqualTo("https://example.com/v1/secret/app/api-key");
+    }
+
+    @Test
+    public void redirect_from_standby_refreshes_the_vault_url() throws IOException, InterruptedException {
+        final MockWebServer leader = new MockWebServer();
+        leader.start();
+        try {
+            final String leaderUrl = "http://localhost:" + leader.getPort();
+            final RefreshableUrlResolver urlResolver = mock(RefreshableUrlResolver.class);
+            when(urlResolver.resolve()).thenReturn("http://localhost:" + mockWebServer.getPort(), leaderUrl);
+            vaultClient = VaultClientFactory.getClient(urlResolver, vaultClient.getCredentialsProvider());
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.TEMPORARY_REDIRECT)
+                    .setHeader("Location", leaderUrl + "/v1/secret/app/one"));
+            leader.enqueue(new MockResponse().setResponseCode(204));
+            leader.enqueue(new MockResponse().setResponseCode(204));
+
+            vaultClient.delete("app/one");
+            vaultClient.delete("app/two");
+
+            verify(urlResolver, times(1)).refresh();
+            assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+            assertThat(leader.takeRequest().getPath()).isEqualTo("/v1/secret/app/one");
+            assertThat(leader.takeRequest().getPath()).isEqualTo("/v1/secret/app/two");
+        } finally {
+            leader.shutdown();
+        }
+    }
+
+    @Test
+    public void unfollowed_redirect_is_retried_against_the_refreshed_vault_url()
+            throws IOException, InterruptedException {
+        final MockWebServer leader = new MockWebServer();
+        leader.start();
+        try {
+            final RefreshableUrlResolver urlResolver = mock(RefreshableUrlResolver.class);
+            when(urlResolver.resolve()).thenReturn("http://localhost:" + mockWebServer.getPort(),
+                    "http://localhost:" + leader.getPort());
+            final OkHttpClient httpClient = new OkHttpClient.Builder().followRedirects(false).build();
+            vaultClient = new VaultClient(urlResolver, vaultClient.getCredentialsProvider(), httpClient);
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.TEMPORARY_REDIRECT)
+                    .setHeader("Location", "http://localhost:" + leader.getPort() + "/v1/secret/app/one"));
+            leader.enqueue(new MockResponse().setResponseCode(204));
+
+            vaultClient.delete("app/one");
+
+            verify(urlResolver, times(1)).refresh();
+            assertThat(leader.takeRequest().getPath()).isEqualTo("/v1/secret/app/one");
+        } finally {
+            leader.shutdown();
+        }
+    }
+
+    @Test
+    public void failure_to_connect_refreshes_the_vault_url() throws IOException {
+        final ServerSocket serverSocket = new ServerSocket(0);
+        final RefreshableUrlResolver urlResolver = mock(RefreshableUrlResolver.class);
+        when(urlResolver.resolve()).thenReturn("http://localhost:" + serverSocket.getLocalPort());
+        vaultClient = new VaultClient(urlResolver, vaultClient.getCredentialsProvider(),
+                buildHttpClient(1, TimeUnit.SECONDS));
+
+        try {
+            vaultClient.delete("app/one");
+            fail("Expected exception");
+        } catch (VaultClientException vce) {
+            verify(urlResolver, times(1)).refresh();
+        } finally {
+            serverSocket.close();
+        }
+    }
+
+    @Test
+    public void open_circuit_breaker_fails_fast_with_distinct_exception() {
+        final CircuitBreakerPolicy policy = new CircuitBreakerPolicy().setSlidingWindow(1, 1);
+        final OkHttpClient httpClient = new OkHttpClient.Builder()
+                .addInterceptor(new CircuitBreakerInterceptor(policy))
+                .build();
+        vaultClient = new VaultClient(new StaticVaultUrlResolver("http://localhost:" + mockWebServer.getPort()),
+                vaultClient.getCredentialsProvider(), httpClient);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.SERVICE_UNAVAILABLE));
+
+        try {
+            vaultClient.delete("app/one");
+            fail("Expected exception");
+        } catch (VaultServerException vse) {
+            assertThat(vse.getCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        try {
+            vaultClient.delete("app/one");
+            fail("Expected exception");
+        } catch (VaultCircuitBreakerOpenException e) {
+            assertThat(e.getNode()).isEqualTo("http://localhost:" + mockWebServer.getPort());
+        }
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void open_circuit_breaker_does_not_refresh_the_vault_url() {
+        final RefreshableUrlResolver urlResolver = mock(RefreshableUrlResolver.class);
+        when(urlResolver.resolve()).thenReturn("http://localhost:" + mockWebServer.getPort());
+        final CircuitBreakerPolicy policy = new CircuitBreakerPolicy().setSlidingWindow(1, 1);
+        final OkHttpClient httpClient = new OkHttpClient.Builder()
+                .addInterceptor(new CircuitBreakerInterceptor(policy))
+                .build();
+        vaultClient = new VaultClient(urlResolver, vaultClient.getCredentialsProvider(), httpClient);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.SERVICE_UNAVAILABLE));
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                vaultClient.delete("app/one");
+                fail("Expected exception");
+            } catch (VaultClientException e) {
+                assertThat(e).isInstanceOf(i == 0 ? VaultServerException.class
+                        : VaultCircuitBreakerOpenException.class);
+            }
+        }
+
+        verify(urlResolver, never()).refresh();
+    }
+
     private OkHttpClient buildHttpClient(int timeout, TimeUnit timeoutUnit) {
         return new OkHttpClient.Builder()
                 .connectTimeout(timeout, timeoutUnit)
@@ -307,6 +1010,27 @@ public class VaultClientTest {
         }
     }
 
+    private static class TestConfig {
+        private String value;
+        private int port;
+        private boolean enabled;
+    }
+
+    private static class RefreshingCredentialsProvider implements RefreshableVaultCredentialsProvider {
+
+        private final AtomicInteger refreshes = new AtomicInteger();
+
+        @Override
+        public VaultCredentials getCredentials() {
+            return new TokenVaultCredentials("token-" + refreshes.get());
+        }
+
+        @Override
+        public void refresh() {
+            refreshes.incrementAndGet();
+        }
+    }
+
     private static class TestVaultCredentials implements VaultCredentials {
         @Override
         public String getToken() {
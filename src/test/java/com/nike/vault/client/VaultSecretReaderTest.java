@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.model.VaultSecretValue;
+import okio.Buffer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the VaultSecretReader class
+ */
+public class VaultSecretReaderTest {
+
+    @Test
+    public void readData_decodes_string_values_into_char_arrays() throws IOException {
+        final Map<String, VaultSecretValue> data = read(
+                "{\"lease_id\": \"\", \"renewable\": false, \"data\": {\"value\": \"world\", \"other\": \"two\"}, \"auth\": null}");
+
+        assertThat(data).hasSize(2);
+        assertThat(new String(data.get("value").getValue())).isEqualTo("world");
+        assertThat(new String(data.get("other").getValue())).isEqualTo("two");
+    }
+
+    @Test
+    public void readData_decodes_escape_sequences() throws IOException {
+        final Map<String, VaultSecretValue> data = read(
+                "{\"data\": {\"value\": \"a\\\"b\\\\c\\/d\\n\\u00e9\\ud83d\\ude00\"}}");
+
+        assertThat(new String(data.get("value").getValue())).isEqualTo("a\"b\\c/d\n\u00e9\ud83d\ude00");
+    }
+
+    @Test
+    public void readData_decodes_multi_byte_characters() throws IOException {
+        final Map<String, VaultSecretValue> data = read("{\"data\": {\"value\": \"p\u00e4ss\ud83d\ude00\"}}");
+
+        assertThat(new String(data.get("value").getValue())).isEqualTo("p\u00e4ss\ud83d\ude00");
+    }
+
+    @Test
+    public void readData_keeps_non_string_values_as_raw_json() throws IOException {
+        final Map<String, VaultSecretValue> data = read(
+                "{\"data\": {\"port\": 8080, \"enabled\": true, \"nested\": {\"a\": [1, \"}\"]}, \"missing\": null}}");
+
+        assertThat(new String(data.get("port").getValue())).isEqualTo("8080");
+        assertThat(new String(data.get("enabled").getValue())).isEqualTo("true");
+        assertThat(new String(data.get("nested").getValue())).isEqualTo("{\"a\": [1, \"}\"]}");
+        assertThat(data).containsKey("missing");
+        assertThat(data.get("missing")).isNull();
+    }
+
+    @Test
+    public void readData_skips_fields_around_the_data_object() throws IOException {
+        final Map<String, VaultSecretValue> data = read(
+                "{\"warnings\": [\"x\", {\"y\": \"]\"}], \"data\": {\"value\": \"world\"}, \"lease_duration\": 10}");
+
+        assertThat(data).hasSize(1);
+        assertThat(new String(data.get("value").getValue())).isEqualTo("world");
+    }
+
+    @Test
+    public void readData_returns_null_if_no_data() throws IOException {
+        assertThat(read("{\"data\": null}")).isNull();
+        assertThat(read("{}")).isNull();
+    }
+
+    @Test(expected = IOException.class)
+    public void readData_throws_io_exception_if_body_is_malformed() throws IOException {
+        read("{\"data\": {\"value\": \"world\"");
+    }
+
+    @Test(expected = IOException.class)
+    public void readData_throws_io_exception_if_body_is_not_json() throws IOException {
+        read("<html>nope</html>");
+    }
+
+    @Test
+    public void wipe_zeroes_out_the_value() throws IOException {
+        final VaultSecretValue value = read("{\"data\": {\"value\": \"world\"}}").get("value");
+        final char[] backing = value.getValue();
+
+        value.wipe();
+
+        assertThat(value.isWiped()).isTrue();
+        assertThat(backing).containsOnly('\0');
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getValue_throws_error_after_wipe() throws IOException {
+        final VaultSecretValue value = read("{\"data\": {\"value\": \"world\"}}").get("value");
+        value.wipe();
+        value.getValue();
+    }
+
+    @Test
+    public void toString_does_not_reveal_the_value() throws IOException {
+        final VaultSecretValue value = read("{\"data\": {\"value\": \"world\"}}").get("value");
+
+        assertThat(value.toString()).doesNotContain("world");
+    }
+
+    private Map<String, VaultSecretValue> read(final String json) throws IOException {
+        return VaultSecretReader.readData(new Buffer().writeUtf8(json));
+    }
+}
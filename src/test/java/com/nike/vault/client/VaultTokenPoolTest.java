@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client;
+
+import com.nike.vault.client.auth.VaultCredentials;
+import com.nike.vault.client.auth.VaultCredentialsProvider;
+import com.nike.vault.client.http.HttpStatus;
+import com.nike.vault.client.model.VaultAuthResponse;
+import com.nike.vault.client.model.VaultTokenAuthRequest;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the VaultTokenPool class
+ */
+public class VaultTokenPoolTest {
+
+    private MockWebServer mockWebServer;
+
+    private VaultTokenPool tokenPool;
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    private final List<String> revoked = Collections.synchronizedList(new ArrayList<String>());
+
+    private volatile int leaseDuration = 3600;
+
+    private volatile long createDelayMillis;
+
+    @Before
+    public void setup() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+                if (request.getPath().startsWith("/v1/auth/token/revoke/")) {
+                    revoked.add(request.getPath().substring("/v1/auth/token/revoke/".length()));
+                    return new MockResponse().setResponseCode(HttpStatus.NO_CONTENT);
+                }
+                Thread.sleep(createDelayMillis);
+                return new MockResponse().setResponseCode(HttpStatus.OK).setBody("{\"auth\": {\"client_token\": "
+                        + "\"token-" + created.incrementAndGet() + "\", \"lease_duration\": " + leaseDuration + "}}");
+            }
+        });
+        mockWebServer.start();
+
+        final VaultCredentialsProvider vaultCredentialsProvider = mock(VaultCredentialsProvider.class);
+        when(vaultCredentialsProvider.getCredentials()).thenReturn(new TestVaultCredentials());
+        final VaultAdminClient vaultClient = VaultClientFactory.getAdminClient(
+                new StaticVaultUrlResolver("http://localhost:" + mockWebServer.getPort()), vaultCredentialsProvider);
+
+        tokenPool = new VaultTokenPool(vaultClient)
+                .addTemplate("job", new VaultTokenAuthRequest().setTtl("1h"), 4)
+                .setConcurrency(2);
+    }
+
+    @After
+    public void teardown() throws IOException {
+        tokenPool.close();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void start_fills_the_pool() throws InterruptedException {
+        tokenPool.start();
+
+        awaitAvailable(4);
+        assertThat(created.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void take_hands_out_pooled_tokens_and_refills_at_the_low_watermark() throws InterruptedException {
+        tokenPool.start();
+        awaitAvailable(4);
+
+        final Set<String> tokens = new HashSet<>();
+        tokens.add(tokenPool.take("job").getClientToken());
+        assertThat(tokenPool.getAvailable("job")).isEqualTo(3);
+        assertThat(created.get()).isEqualTo(4);
+
+        tokens.add(tokenPool.take("job").getClientToken());
+        awaitAvailable(4);
+
+        assertThat(tokens).hasSize(2);
+        assertThat(created.get()).isEqualTo(6);
+    }
+
+    @Test
+    public void take_creates_a_token_if_the_pool_is_empty() {
+        final VaultAuthResponse auth = tokenPool.take("job");
+
+        assertThat(auth.getClientToken()).startsWith("token-");
+        assertThat(auth.getLeaseDuration()).isEqualTo(3600);
+    }
+
+    @Test
+    public void take_discards_tokens_close_to_expiry() throws InterruptedException {
+        leaseDuration = 90;
+        tokenPool.start();
+        awaitAvailable(4);
+
+        leaseDuration = 3600;
+        tokenPool.setMinRemainingTtl(2, TimeUnit.MINUTES);
+        final VaultAuthResponse auth = tokenPool.take("job");
+
+        assertThat(auth.getLeaseDuration()).isEqualTo(3600);
+        awaitRevoked(4);
+        assertThat(revoked).containsOnly("token-1", "token-2", "token-3", "token-4");
+    }
+
+    @Test
+    public void refill_stops_if_new_tokens_are_already_close_to_expiry() throws InterruptedException {
+        leaseDuration = 30;
+        tokenPool.setMinRemainingTtl(1, TimeUnit.MINUTES).start();
+        awaitRevoked(2);
+
+        assertThat(revoked).containsOnly("token-1", "token-2");
+        assertThat(tokenPool.getAvailable("job")).isZero();
+
+        tokenPool.take("job");
+        Thread.sleep(200);
+
+        assertThat(created.get()).isEqualTo(3);
+        assertThat(revoked).hasSize(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void take_throws_error_for_unknown_pool() {
+        tokenPool.take("unknown");
+    }
+
+    @Test
+    public void close_revokes_the_unused_tokens() throws InterruptedException {
+        tokenPool.start();
+        awaitAvailable(4);
+        final String taken = tokenPool.take("job").getClientToken();
+
+        tokenPool.close();
+
+        assertThat(revoked).hasSize(3).doesNotContain(taken);
+        assertThat(tokenPool.getAvailable("job")).isZero();
+    }
+
+    @Test
+    public void close_revokes_the_tokens_of_a_refill_in_progress() throws InterruptedException {
+        createDelayMillis = 200;
+        tokenPool.start();
+        awaitRequests(1);
+
+        tokenPool.close();
+
+        assertThat(created.get()).isGreaterThan(0);
+        assertThat(revoked).hasSize(created.get());
+        assertThat(tokenPool.getAvailable("job")).isZero();
+        Thread.sleep(300);
+        assertThat(revoked).hasSize(created.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_template_throws_error_for_non_positive_size() {
+        tokenPool.addTemplate("other", new VaultTokenAuthRequest(), 0);
+    }
+
+    private void awaitAvailable(final int available) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (tokenPool.getAvailable("job") != available && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(tokenPool.getAvailable("job")).isEqualTo(available);
+    }
+
+    private void awaitRevoked(final int count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (revoked.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitRequests(final int count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (mockWebServer.getRequestCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static class TestVaultCredentials implements VaultCredentials {
+        @Override
+        public String getToken() {
+            return "TOKEN";
+        }
+    }
+}
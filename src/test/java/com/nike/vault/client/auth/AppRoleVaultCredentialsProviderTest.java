@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+import com.nike.vault.client.StaticVaultUrlResolver;
+import com.nike.vault.client.VaultServerException;
+import com.nike.vault.client.http.HttpStatus;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Tests the AppRoleVaultCredentialsProvider class
+ */
+public class AppRoleVaultCredentialsProviderTest {
+
+    private MockWebServer mockWebServer;
+
+    private AppRoleVaultCredentialsProvider credentialsProvider;
+
+    private final AtomicInteger logins = new AtomicInteger();
+
+    private volatile int leaseDuration = 3600;
+
+    private volatile int loginStatus = HttpStatus.OK;
+
+    @Before
+    public void setup() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+                if (loginStatus != HttpStatus.OK) {
+                    return new MockResponse().setResponseCode(loginStatus)
+                            .setBody("{\"errors\": [\"invalid secret id\"]}");
+                }
+
+                // slow logins down so concurrent callers overlap
+                Thread.sleep(100);
+                return new MockResponse().setResponseCode(HttpStatus.OK).setBody(
+                        "{\"auth\": {\"client_token\": \"token-" + logins.incrementAndGet()
+                                + "\", \"lease_duration\": " + leaseDuration + ", \"renewable\": true}}");
+            }
+        });
+        mockWebServer.start();
+
+        credentialsProvider = new AppRoleVaultCredentialsProvider(
+                new StaticVaultUrlResolver("http://localhost:" + mockWebServer.getPort()),
+                new OkHttpClient(),
+                "approle",
+                "role-id",
+                "secret-id");
+    }
+
+    @After
+    public void teardown() throws IOException {
+        credentialsProvider.close();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void get_credentials_logs_in_once_and_caches_the_token() throws InterruptedException {
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("token-1");
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("token-1");
+        assertThat(logins.get()).isEqualTo(1);
+
+        final RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getPath()).isEqualTo("/v1/auth/approle/login");
+        assertThat(request.getBody().readUtf8()).isEqualTo("{\"role_id\":\"role-id\",\"secret_id\":\"secret-id\"}");
+    }
+
+    @Test
+    public void concurrent_callers_share_a_single_login() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> tokens = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tokens.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return credentialsProvider.getCredentials().getToken();
+                    }
+                }));
+            }
+
+            for (final Future<String> token : tokens) {
+                assertThat(token.get(5, TimeUnit.SECONDS)).isEqualTo("token-1");
+            }
+            assertThat(logins.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void a_new_token_is_acquired_in_the_background_before_expiry() throws InterruptedException {
+        leaseDuration = 1;
+
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("token-1");
+
+        mockWebServer.takeRequest();
+        assertThat(mockWebServer.takeRequest(5, TimeUnit.SECONDS)).isNotNull();
+        Thread.sleep(200);
+
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("token-2");
+    }
+
+    @Test
+    public void refresh_logs_in_again() {
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("token-1");
+
+        credentialsProvider.refresh();
+
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("token-2");
+    }
+
+    @Test
+    public void failed_logins_throw_server_exception() {
+        loginStatus = HttpStatus.BAD_REQUEST;
+
+        try {
+            credentialsProvider.getCredentials();
+            fail("expected VaultServerException");
+        } catch (VaultServerException e) {
+            assertThat(e.getCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(e.getErrors()).contains("invalid secret id");
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void role_id_is_required() {
+        new AppRoleVaultCredentialsProvider(new StaticVaultUrlResolver("http://localhost"), " ", "secret-id");
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+import com.nike.vault.client.VaultClientException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the FileVaultCredentialsProvider class
+ */
+public class FileVaultCredentialsProviderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path tokenFile;
+
+    private FileVaultCredentialsProvider credentialsProvider;
+
+    @Before
+    public void setup() throws IOException {
+        tokenFile = temporaryFolder.getRoot().toPath().resolve("token");
+        write(tokenFile, "first-token\n");
+    }
+
+    @After
+    public void teardown() {
+        if (credentialsProvider != null) {
+            credentialsProvider.close();
+        }
+    }
+
+    @Test
+    public void getCredentials_returns_the_token_from_the_file() {
+        credentialsProvider = new FileVaultCredentialsProvider(tokenFile.toString());
+
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("first-token");
+    }
+
+    @Test
+    public void changes_are_picked_up_by_the_watch_service() throws Exception {
+        credentialsProvider = new FileVaultCredentialsProvider(tokenFile, 1, TimeUnit.MINUTES);
+        credentialsProvider.start();
+
+        replace(tokenFile, "second-token");
+
+        awaitToken("second-token");
+    }
+
+    @Test
+    public void changes_are_picked_up_by_polling_without_the_watch_service() throws Exception {
+        credentialsProvider = new FileVaultCredentialsProvider(tokenFile, 20, TimeUnit.MILLISECONDS, false);
+        credentialsProvider.start();
+
+        write(tokenFile, "second-token");
+        Files.setLastModifiedTime(tokenFile, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+
+        awaitToken("second-token");
+    }
+
+    @Test
+    public void empty_files_keep_the_current_token() throws Exception {
+        credentialsProvider = new FileVaultCredentialsProvider(tokenFile, 20, TimeUnit.MILLISECONDS, false);
+        credentialsProvider.start();
+
+        write(tokenFile, "  ");
+        Files.setLastModifiedTime(tokenFile, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        Thread.sleep(200);
+
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("first-token");
+    }
+
+    @Test
+    public void refresh_reads_the_file_again() throws IOException {
+        credentialsProvider = new FileVaultCredentialsProvider(tokenFile.toString());
+
+        write(tokenFile, "second-token");
+        credentialsProvider.refresh();
+
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("second-token");
+    }
+
+    @Test(expected = VaultClientException.class)
+    public void missing_files_are_rejected() {
+        new FileVaultCredentialsProvider(tokenFile.resolveSibling("missing").toString());
+    }
+
+    private void awaitToken(final String token) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (!token.equals(credentialsProvider.getCredentials().getToken()) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo(token);
+    }
+
+    private static void replace(final Path file, final String content) throws IOException {
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        write(temp, content);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void write(final Path file, final String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
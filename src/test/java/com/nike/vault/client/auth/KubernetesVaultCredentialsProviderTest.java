@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+import com.nike.vault.client.StaticVaultUrlResolver;
+import com.nike.vault.client.VaultClientException;
+import com.nike.vault.client.http.HttpStatus;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the KubernetesVaultCredentialsProvider class
+ */
+public class KubernetesVaultCredentialsProviderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockWebServer mockWebServer;
+
+    private Path jwtFile;
+
+    private KubernetesVaultCredentialsProvider credentialsProvider;
+
+    private final AtomicInteger logins = new AtomicInteger();
+
+    @Before
+    public void setup() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+                // slow logins down so concurrent callers overlap
+                Thread.sleep(100);
+                return new MockResponse().setResponseCode(HttpStatus.OK).setBody(
+                        "{\"auth\": {\"client_token\": \"token-" + logins.incrementAndGet()
+                                + "\", \"lease_duration\": 3600, \"renewable\": true}}");
+            }
+        });
+        mockWebServer.start();
+
+        jwtFile = temporaryFolder.newFile("token").toPath();
+        writeJwt("jwt-1\n", 1000);
+
+        credentialsProvider = new KubernetesVaultCredentialsProvider(
+                new StaticVaultUrlResolver("http://localhost:" + mockWebServer.getPort()),
+                new OkHttpClient(),
+                "/kubernetes/",
+                "my-role",
+                jwtFile);
+    }
+
+    @After
+    public void teardown() throws IOException {
+        credentialsProvider.close();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void get_credentials_logs_in_once_and_caches_the_token() throws InterruptedException {
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("token-1");
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("token-1");
+        assertThat(logins.get()).isEqualTo(1);
+
+        final RecordedRequest request = mockWebServer.takeRequest();
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getPath()).isEqualTo("/v1/auth/kubernetes/login");
+        assertThat(request.getBody().readUtf8()).isEqualTo("{\"role\":\"my-role\",\"jwt\":\"jwt-1\"}");
+    }
+
+    @Test
+    public void concurrent_callers_share_a_single_login() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> tokens = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tokens.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return credentialsProvider.getCredentials().getToken();
+                    }
+                }));
+            }
+
+            for (final Future<String> token : tokens) {
+                assertThat(token.get(5, TimeUnit.SECONDS)).isEqualTo("token-1");
+            }
+            assertThat(logins.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void a_rotated_jwt_is_used_for_the_next_login() throws Exception {
+        credentialsProvider.getCredentials();
+        mockWebServer.takeRequest();
+
+        writeJwt("jwt-2", 2000);
+        credentialsProvider.refresh();
+
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("token-2");
+        assertThat(mockWebServer.takeRequest().getBody().readUtf8()).contains("\"jwt\":\"jwt-2\"");
+    }
+
+    @Test(expected = VaultClientException.class)
+    public void missing_jwt_file_throws_client_exception() throws IOException {
+        Files.delete(jwtFile);
+
+        credentialsProvider.getCredentials();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void role_is_required() {
+        new KubernetesVaultCredentialsProvider(new StaticVaultUrlResolver("http://localhost"), " ");
+    }
+
+    private void writeJwt(final String jwt, final long modifiedMillis) throws IOException {
+        Files.write(jwtFile, jwt.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(jwtFile, FileTime.fromMillis(modifiedMillis));
+    }
+}
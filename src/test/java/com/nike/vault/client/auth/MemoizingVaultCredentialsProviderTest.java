@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the MemoizingVaultCredentialsProvider class
+ */
+public class MemoizingVaultCredentialsProviderTest {
+
+    @Test
+    public void getCredentials_asks_the_delegate_once() {
+        final VaultCredentialsProvider delegate = mock(VaultCredentialsProvider.class);
+        when(delegate.getCredentials()).thenReturn(new TokenVaultCredentials("TOKEN"));
+        final MemoizingVaultCredentialsProvider credentialsProvider = new MemoizingVaultCredentialsProvider(delegate);
+
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("TOKEN");
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("TOKEN");
+
+        verify(delegate, times(1)).getCredentials();
+    }
+
+    @Test
+    public void getCredentials_does_not_memoize_credentials_without_a_token() {
+        final VaultCredentialsProvider delegate = mock(VaultCredentialsProvider.class);
+        when(delegate.getCredentials()).thenReturn(new TokenVaultCredentials(null), new TokenVaultCredentials("TOKEN"));
+        final MemoizingVaultCredentialsProvider credentialsProvider = new MemoizingVaultCredentialsProvider(delegate);
+
+        assertThat(credentialsProvider.getCredentials().getToken()).isNull();
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("TOKEN");
+    }
+
+    @Test
+    public void refresh_asks_the_delegate_again() {
+        final RefreshableVaultCredentialsProvider delegate = mock(RefreshableVaultCredentialsProvider.class);
+        when(delegate.getCredentials()).thenReturn(new TokenVaultCredentials("OLD"), new TokenVaultCredentials("NEW"));
+        final MemoizingVaultCredentialsProvider credentialsProvider = new MemoizingVaultCredentialsProvider(delegate);
+
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("OLD");
+        credentialsProvider.refresh();
+
+        verify(delegate).refresh();
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("NEW");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void delegate_is_required() {
+        new MemoizingVaultCredentialsProvider(null);
+    }
+}
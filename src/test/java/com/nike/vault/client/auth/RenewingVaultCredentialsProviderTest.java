@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.auth;
+
+import com.nike.vault.client.StaticVaultUrlResolver;
+import com.nike.vault.client.VaultServerException;
+import com.nike.vault.client.http.HttpHeader;
+import com.nike.vault.client.http.HttpStatus;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Tests the RenewingVaultCredentialsProvider class
+ */
+public class RenewingVaultCredentialsProviderTest {
+
+    private MockWebServer mockWebServer;
+
+    private RenewingVaultCredentialsProvider credentialsProvider;
+
+    private volatile boolean renewable = true;
+
+    private volatile int renewStatus = HttpStatus.OK;
+
+    private final AtomicInteger renewals = new AtomicInteger();
+
+    private volatile String delegateToken = "initial-token";
+
+    @Before
+    public void setup() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                if (request.getPath().endsWith("lookup-self")) {
+                    return new MockResponse().setResponseCode(HttpStatus.OK).setBody("{\"data\": {\"id\": \""
+                            + request.getHeader(HttpHeader.VAULT_TOKEN) + "\", \"ttl\": 1, \"renewable\": "
+                            + renewable + "}}");
+                }
+
+                if ("new-token".equals(request.getHeader(HttpHeader.VAULT_TOKEN))) {
+                    return new MockResponse().setResponseCode(HttpStatus.OK).setBody(
+                            "{\"auth\": {\"client_token\": \"new-token\", \"lease_duration\": 1, "
+                                    + "\"renewable\": true}}");
+                }
+
+                if (renewStatus != HttpStatus.OK) {
+                    return new MockResponse().setResponseCode(renewStatus).setBody("{\"errors\": []}");
+                }
+
+                return new MockResponse().setResponseCode(HttpStatus.OK).setBody(
+                        "{\"auth\": {\"client_token\": \"renewed-token-" + renewals.incrementAndGet()
+                                + "\", \"lease_duration\": 1, \"renewable\": true}}");
+            }
+        });
+        mockWebServer.start();
+
+        credentialsProvider = new RenewingVaultCredentialsProvider(
+                new StaticVaultUrlResolver("http://localhost:" + mockWebServer.getPort()),
+                new VaultCredentialsProvider() {
+                    @Override
+                    public VaultCredentials getCredentials() {
+                        return new TokenVaultCredentials(delegateToken);
+                    }
+                });
+    }
+
+    @After
+    public void teardown() throws IOException {
+        credentialsProvider.close();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void renewable_tokens_are_renewed_in_the_background() throws InterruptedException {
+        credentialsProvider.start();
+
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("initial-token");
+        assertThat(mockWebServer.takeRequest().getHeader(HttpHeader.VAULT_TOKEN)).isEqualTo("initial-token");
+
+        final RecordedRequest firstRenewal = mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(firstRenewal.getPath()).isEqualTo("/v1/auth/token/renew-self");
+        assertThat(firstRenewal.getHeader(HttpHeader.VAULT_TOKEN)).isEqualTo("initial-token");
+
+        final RecordedRequest secondRenewal = mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(secondRenewal.getHeader(HttpHeader.VAULT_TOKEN)).isEqualTo("renewed-token-1");
+        assertThat(credentialsProvider.getCredentials().getToken()).startsWith("renewed-token-");
+    }
+
+    @Test
+    public void start_after_close_does_not_renew() throws InterruptedException {
+        credentialsProvider.close();
+        credentialsProvider.start();
+
+        mockWebServer.takeRequest();
+        assertThat(mockWebServer.takeRequest(1500, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("initial-token");
+    }
+
+    @Test
+    public void tokens_that_are_not_renewable_are_not_renewed() throws InterruptedException {
+        renewable = false;
+
+        credentialsProvider.start();
+
+        mockWebServer.takeRequest();
+        assertThat(mockWebServer.takeRequest(1500, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("initial-token");
+    }
+
+    @Test
+    public void failed_renewals_keep_the_current_token() {
+        renewStatus = HttpStatus.FORBIDDEN;
+        credentialsProvider.start();
+
+        try {
+            credentialsProvider.renew();
+            fail("expected VaultServerException");
+        } catch (VaultServerException e) {
+            assertThat(e.getCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        }
+
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("initial-token");
+    }
+
+    @Test
+    public void renewal_restarts_once_the_delegate_returns_a_new_token_after_expiry() throws InterruptedException {
+        renewStatus = HttpStatus.SERVICE_UNAVAILABLE;
+        credentialsProvider.start();
+
+        // the renewals fail until the token expires, after which the delegate's token is used again
+        Thread.sleep(2000);
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("initial-token");
+        final int requestCount = mockWebServer.getRequestCount();
+        Thread.sleep(700);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(requestCount);
+
+        delegateToken = "new-token";
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("new-token");
+
+        RecordedRequest request;
+        do {
+            request = mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+        } while (!"new-token".equals(request.getHeader(HttpHeader.VAULT_TOKEN)));
+        assertThat(request.getPath()).isEqualTo("/v1/auth/token/lookup-self");
+
+        final RecordedRequest renewal = mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(renewal.getPath()).isEqualTo("/v1/auth/token/renew-self");
+        assertThat(renewal.getHeader(HttpHeader.VAULT_TOKEN)).isEqualTo("new-token");
+        assertThat(credentialsProvider.getCredentials().getToken()).isEqualTo("new-token");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void renew_fraction_must_be_less_than_one() {
+        credentialsProvider.setRenewFraction(1, 0);
+    }
+}
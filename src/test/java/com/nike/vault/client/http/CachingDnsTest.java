@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import okhttp3.Dns;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Tests the CachingDns class
+ */
+public class CachingDnsTest {
+
+    @Test
+    public void lookups_are_cached_for_the_positive_ttl() throws UnknownHostException {
+        final CountingDns delegate = new CountingDns(false);
+        final CachingDns dns = new CachingDns(delegate, 1, 0, TimeUnit.MINUTES);
+
+        final List<InetAddress> first = dns.lookup("vault");
+        final List<InetAddress> second = dns.lookup("vault");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(delegate.lookups.get()).isEqualTo(1);
+
+        dns.lookup("other-vault");
+        assertThat(delegate.lookups.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void expired_lookups_are_resolved_again() throws UnknownHostException {
+        final CountingDns delegate = new CountingDns(false);
+        final CachingDns dns = new CachingDns(delegate, 0, 0, TimeUnit.MINUTES);
+
+        dns.lookup("vault");
+        dns.lookup("vault");
+
+        assertThat(delegate.lookups.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void failed_lookups_are_cached_for_the_negative_ttl() {
+        final CountingDns delegate = new CountingDns(true);
+        final CachingDns dns = new CachingDns(delegate, 1, 1, TimeUnit.MINUTES);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                dns.lookup("vault");
+                fail("expected UnknownHostException");
+            } catch (UnknownHostException e) {
+                assertThat(e.getMessage()).contains("vault");
+            }
+        }
+
+        assertThat(delegate.lookups.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void clear_removes_cached_lookups() throws UnknownHostException {
+        final CountingDns delegate = new CountingDns(false);
+        final CachingDns dns = new CachingDns(delegate, 1, 1, TimeUnit.MINUTES);
+
+        dns.lookup("vault");
+        dns.clear();
+        dns.lookup("vault");
+
+        assertThat(delegate.lookups.get()).isEqualTo(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negative_ttls_are_rejected() {
+        new CachingDns(Dns.SYSTEM, -1, 0, TimeUnit.SECONDS);
+    }
+
+    private static class CountingDns implements Dns {
+
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        private final boolean fail;
+
+        CountingDns(final boolean fail) {
+            this.fail = fail;
+        }
+
+        @Override
+        public List<InetAddress> lookup(final String hostname) throws UnknownHostException {
+            lookups.incrementAndGet();
+            if (fail) {
+                throw new UnknownHostException(hostname);
+            }
+            return Collections.singletonList(InetAddress.getByAddress(hostname, new byte[]{127, 0, 0, 1}));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import com.nike.vault.client.http.CircuitBreakerInterceptor.State;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Tests the CircuitBreakerInterceptor class
+ */
+public class CircuitBreakerInterceptorTest {
+
+    private MockWebServer mockWebServer;
+
+    private CircuitBreakerPolicy policy;
+
+    private CircuitBreakerInterceptor interceptor;
+
+    private OkHttpClient httpClient;
+
+    @Before
+    public void setup() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        policy = new CircuitBreakerPolicy()
+                .setSlidingWindow(4, 4)
+                .setOpenDuration(1, TimeUnit.HOURS)
+                .setHalfOpenTrialCalls(1);
+        interceptor = new CircuitBreakerInterceptor(policy);
+        httpClient = new OkHttpClient.Builder().addInterceptor(interceptor).build();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void circuit_stays_closed_below_failure_rate_threshold() throws IOException {
+        enqueue(HttpStatus.OK, HttpStatus.OK, HttpStatus.OK, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK);
+
+        for (int i = 0; i < 5; i++) {
+            execute().close();
+        }
+
+        assertThat(interceptor.getState(mockWebServer.url("/"))).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void circuit_opens_at_failure_rate_threshold_and_fails_fast() throws IOException {
+        enqueue(HttpStatus.OK, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK, HttpStatus.BAD_GATEWAY);
+
+        for (int i = 0; i < 4; i++) {
+            execute().close();
+        }
+
+        assertThat(interceptor.getState(mockWebServer.url("/"))).isEqualTo(State.OPEN);
+        try {
+            execute();
+            fail("Expected exception");
+        } catch (CircuitBreakerOpenException e) {
+            assertThat(e.getNode()).isEqualTo("http://" + mockWebServer.getHostName() + ":" + mockWebServer.getPort());
+        }
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void circuit_opens_at_slow_call_rate_threshold() throws IOException {
+        policy.setSlowCallThreshold(0.5, 50, TimeUnit.MILLISECONDS);
+        httpClient = httpClient.newBuilder().addInterceptor(new Interceptor() {
+            private int calls;
+
+            @Override
+            public Response intercept(final Chain chain) throws IOException {
+                if (calls++ % 2 == 0) {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException();
+                    }
+                }
+                return chain.proceed(chain.request());
+            }
+        }).build();
+        enqueue(HttpStatus.OK, HttpStatus.OK, HttpStatus.OK, HttpStatus.OK);
+
+        for (int i = 0; i < 4; i++) {
+            execute().close();
+        }
+
+        assertThat(interceptor.getState(mockWebServer.url("/"))).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    public void circuit_closes_after_successful_trial_call() throws IOException {
+        policy.setOpenDuration(0, TimeUnit.MILLISECONDS);
+        enqueue(HttpStatus.INTERNAL_SERVER_ERROR, HttpStatus.INTERNAL_SERVER_ERROR, HttpStatus.INTERNAL_SERVER_ERROR,
+                HttpStatus.INTERNAL_SERVER_ERROR, HttpStatus.OK);
+
+        for (int i = 0; i < 4; i++) {
+            execute().close();
+        }
+        assertThat(interceptor.getState(mockWebServer.url("/"))).isEqualTo(State.OPEN);
+
+        execute().close();
+
+        assertThat(interceptor.getState(mockWebServer.url("/"))).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void circuit_opens_again_after_failed_trial_call() throws IOException {
+        policy.setOpenDuration(0, TimeUnit.MILLISECONDS);
+        enqueue(HttpStatus.INTERNAL_SERVER_ERROR, HttpStatus.INTERNAL_SERVER_ERROR, HttpStatus.INTERNAL_SERVER_ERROR,
+                HttpStatus.INTERNAL_SERVER_ERROR, HttpStatus.GATEWAY_TIMEOUT);
+
+        for (int i = 0; i < 5; i++) {
+            execute().close();
+        }
+
+        assertThat(interceptor.getState(mockWebServer.url("/"))).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    public void connection_failures_count_as_failures() throws IOException {
+        final int port = mockWebServer.getPort();
+        mockWebServer.shutdown();
+
+        for (int i = 0; i < 4; i++) {
+            try {
+                httpClient.newCall(new Request.Builder().url("http://localhost:" + port + "/v1/sys/health").build())
+                        .execute();
+                fail("Expected exception");
+            } catch (IOException e) {
+                assertThat(e).isNotInstanceOf(CircuitBreakerOpenException.class);
+            }
+        }
+
+        assertThat(interceptor.getState(new Request.Builder().url("http://localhost:" + port + "/").build().url()))
+                .isEqualTo(State.OPEN);
+    }
+
+    private void enqueue(final int... statusCodes) {
+        for (final int statusCode : statusCodes) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(statusCode));
+        }
+    }
+
+    private Response execute() throws IOException {
+        return httpClient.newCall(new Request.Builder().url(mockWebServer.url("/v1/secret/app")).build()).execute();
+    }
+}
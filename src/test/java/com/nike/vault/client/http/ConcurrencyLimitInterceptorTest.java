@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Tests the ConcurrencyLimitInterceptor class
+ */
+public class ConcurrencyLimitInterceptorTest {
+
+    private MockWebServer mockWebServer;
+
+    @Before
+    public void setup() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void requests_over_the_limit_are_rejected() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+                release.await();
+                return new MockResponse().setResponseCode(HttpStatus.OK);
+            }
+        });
+        final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(
+                new ConcurrencyLimitPolicy().setLimits(1, 1, 1));
+        final OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(interceptor).build();
+
+        httpClient.newCall(newRequest()).enqueue(new Callback() {
+            @Override
+            public void onFailure(final Call call, final IOException e) {
+                done.countDown();
+            }
+
+            @Override
+            public void onResponse(final Call call, final Response response) {
+                response.close();
+                done.countDown();
+            }
+        });
+        mockWebServer.takeRequest();
+
+        try {
+            httpClient.newCall(newRequest()).execute();
+            fail("Expected exception");
+        } catch (ConcurrencyLimitExceededException e) {
+            assertThat(interceptor.getInFlight()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interceptor.getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    public void limit_grows_while_responses_are_fast_and_the_limit_is_used() throws IOException {
+        final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(new ConcurrencyLimitPolicy()
+                .setLimits(1, 1, 10)
+                .setRttTolerance(1_000, 1_000));
+        final OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(interceptor).build();
+
+        for (int i = 0; i < 5; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.OK));
+            httpClient.newCall(newRequest()).execute().close();
+        }
+
+        // one request at a time only uses half of a limit of two, so it stops growing there
+        assertThat(interceptor.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void limit_backs_off_when_vault_is_overloaded() throws IOException {
+        final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(new ConcurrencyLimitPolicy()
+                .setLimits(10, 2, 20)
+                .setBackoffRatio(0.5));
+        final OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(interceptor).build();
+
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.SERVICE_UNAVAILABLE));
+            httpClient.newCall(newRequest()).execute().close();
+        }
+
+        assertThat(interceptor.getLimit()).isEqualTo(2);
+    }
+
+    private Request newRequest() {
+        return new Request.Builder().url(mockWebServer.url("/v1/secret/app")).build();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Tests the RateLimitInterceptor class
+ */
+public class RateLimitInterceptorTest {
+
+    private MockWebServer mockWebServer;
+
+    @Before
+    public void setup() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void requests_over_the_burst_are_rejected_if_they_can_not_wait() throws IOException {
+        final OkHttpClient httpClient = buildHttpClient(new RateLimitInterceptor(
+                new RateLimitPolicy().setRate(1, 2).setMaxWait(0, TimeUnit.MILLISECONDS)));
+        enqueue(HttpStatus.OK, HttpStatus.OK);
+
+        execute(httpClient, "v1/secret/app").close();
+        execute(httpClient, "v1/secret/app").close();
+
+        try {
+            execute(httpClient, "v1/secret/app");
+            fail("Expected exception");
+        } catch (RateLimitExceededException e) {
+            assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void requests_over_the_burst_wait_for_a_permit() throws IOException {
+        final OkHttpClient httpClient = buildHttpClient(new RateLimitInterceptor(
+                new RateLimitPolicy().setRate(20, 1).setMaxWait(1, TimeUnit.SECONDS)));
+        enqueue(HttpStatus.OK, HttpStatus.OK, HttpStatus.OK);
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            execute(httpClient, "v1/secret/app").close();
+        }
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(90);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void too_many_requests_lowers_the_rate_and_retry_after_holds_requests_back() throws IOException {
+        final RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                new RateLimitPolicy().setRate(10, 10).setMaxWait(0, TimeUnit.MILLISECONDS));
+        final OkHttpClient httpClient = buildHttpClient(interceptor);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.TOO_MANY_REQUESTS)
+                .setHeader("Retry-After", "1"));
+
+        assertThat(execute(httpClient, "v1/secret/app").code()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(interceptor.getCurrentRate("v1/secret/app")).isEqualTo(5);
+
+        try {
+            execute(httpClient, "v1/secret/app");
+            fail("Expected exception");
+        } catch (RateLimitExceededException e) {
+            assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void rate_recovers_after_successful_responses() throws IOException {
+        final RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                new RateLimitPolicy().setRate(100, 10).setAdaptation(0.5, 0.1));
+        final OkHttpClient httpClient = buildHttpClient(interceptor);
+        enqueue(HttpStatus.TOO_MANY_REQUESTS, HttpStatus.OK, HttpStatus.OK, HttpStatus.OK);
+
+        execute(httpClient, "v1/secret/app").close();
+        assertThat(interceptor.getCurrentRate("v1/secret/app")).isEqualTo(50);
+
+        for (int i = 0; i < 3; i++) {
+            execute(httpClient, "v1/secret/app").close();
+        }
+
+        assertThat(interceptor.getCurrentRate("v1/secret/app")).isEqualTo(80);
+    }
+
+    @Test
+    public void path_prefixes_have_their_own_limits() throws IOException {
+        final RateLimitInterceptor interceptor = new RateLimitInterceptor(null)
+                .addPathPrefix("v1/auth/", new RateLimitPolicy().setRate(1, 1).setMaxWait(0, TimeUnit.MILLISECONDS));
+        final OkHttpClient httpClient = buildHttpClient(interceptor);
+        enqueue(HttpStatus.OK, HttpStatus.OK, HttpStatus.OK);
+
+        execute(httpClient, "v1/auth/token/lookup-self").close();
+        execute(httpClient, "v1/secret/app").close();
+        execute(httpClient, "v1/secret/app").close();
+
+        assertThat(interceptor.getCurrentRate("v1/secret/app")).isEqualTo(0);
+        try {
+            execute(httpClient, "v1/auth/token/lookup-self");
+            fail("Expected exception");
+        } catch (RateLimitExceededException e) {
+            assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+        }
+    }
+
+    private void enqueue(final int... statusCodes) {
+        for (final int statusCode : statusCodes) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(statusCode));
+        }
+    }
+
+    private OkHttpClient buildHttpClient(final RateLimitInterceptor interceptor) {
+        return new OkHttpClient.Builder().addInterceptor(interceptor).build();
+    }
+
+    private Response execute(final OkHttpClient httpClient, final String path) throws IOException {
+        return httpClient.newCall(new Request.Builder().url(mockWebServer.url("/" + path)).build()).execute();
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2016 Nike, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nike.vault.client.http;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the RetryInterceptor class
+ */
+public class RetryInterceptorTest {
+
+    private MockWebServer mockWebServer;
+
+    private RetryPolicy retryPolicy;
+
+    private RetryListener retryListener;
+
+    private RetryInterceptor retryInterceptor;
+
+    private OkHttpClient httpClient;
+
+    @Before
+    public void setup() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        retryPolicy = new RetryPolicy().setDelay(1, 2, TimeUnit.MILLISECONDS);
+        retryListener = mock(RetryListener.class);
+        retryInterceptor = new RetryInterceptor(retryPolicy, retryListener);
+        httpClient = new OkHttpClient.Builder()
+                .addInterceptor(retryInterceptor)
+                .readTimeout(1, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @After
+    public void teardown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    public void get_is_retried_on_retryable_status() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.SERVICE_UNAVAILABLE));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.TOO_MANY_REQUESTS));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.OK));
+
+        final Response response = execute(HttpMethod.GET, null);
+
+        assertThat(response.code()).isEqualTo(HttpStatus.OK);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+        assertThat(retryInterceptor.getRetryCount()).isEqualTo(2);
+        verify(retryListener).onRetry(any(Request.class), eq(1), any(Response.class), any(IOException.class),
+                anyLong());
+        verify(retryListener).onRetry(any(Request.class), eq(2), any(Response.class), any(IOException.class),
+                anyLong());
+    }
+
+    @Test
+    public void get_is_retried_on_io_error() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.OK));
+
+        final Response response = execute(HttpMethod.GET, null);
+
+        assertThat(response.code()).isEqualTo(HttpStatus.OK);
+        assertThat(retryInterceptor.getRetryCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void last_response_is_returned_once_retries_are_used_up() throws IOException {
+        retryPolicy.setMaxRetries(1);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.BAD_GATEWAY));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.GATEWAY_TIMEOUT).setBody("last"));
+
+        final Response response = execute(HttpMethod.DELETE, null);
+
+        assertThat(response.code()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(response.body().string()).isEqualTo("last");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void non_retryable_status_is_not_retried() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.FORBIDDEN));
+
+        final Response response = execute(HttpMethod.GET, null);
+
+        assertThat(response.code()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(retryInterceptor.getRetryCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void post_is_not_retried_by_default() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.SERVICE_UNAVAILABLE));
+
+        final Response response = execute(HttpMethod.POST, null);
+
+        assertThat(response.code()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void post_is_retried_if_marked_safe() throws IOException {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.SERVICE_UNAVAILABLE));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.NO_CONTENT));
+
+        final Response response = execute(HttpMethod.POST, RetryInterceptor.SAFE_TO_RETRY);
+
+        assertThat(response.code()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void retries_stop_when_budget_is_exhausted() throws IOException {
+        retryPolicy.setRetryBudget(0, 1);
+        retryInterceptor = new RetryInterceptor(retryPolicy);
+        httpClient = new OkHttpClient.Builder().addInterceptor(retryInterceptor).build();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.SERVICE_UNAVAILABLE));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(HttpStatus.SERVICE_UNAVAILABLE));
+
+        final Response response = execute(HttpMethod.GET, null);
+
+        assertThat(response.code()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        assertThat(retryInterceptor.getRetryCount()).isEqualTo(1);
+        assertThat(retryInterceptor.getBudgetExhaustedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void rate_limit_rejection_is_not_retried() throws IOException {
+        assertRejectionIsNotRetried(new RateLimitExceededException("rate limit exceeded"));
+    }
+
+    @Test
+    public void concurrency_limit_rejection_is_not_retried() throws IOException {
+        assertRejectionIsNotRetried(new ConcurrencyLimitExceededException("concurrency limit exceeded"));
+    }
+
+    @Test
+    public void request_rejection_is_not_retried() throws IOException {
+        assertRejectionIsNotRetried(new RequestRejectedException("rejected"));
+    }
+
+    @Test
+    public void circuit_breaker_open_rejection_is_not_retried() throws IOException {
+        assertRejectionIsNotRetried(new CircuitBreakerOpenException("localhost:8200"));
+    }
+
+    @Test
+    public void delay_is_capped_by_max_delay() {
+        final RetryPolicy policy = new RetryPolicy().setDelay(100, 400, TimeUnit.MILLISECONDS);
+
+        for (int retry = 1; retry < 40; retry++) {
+            assertThat(policy.getDelayMillis(retry)).isBetween(0L, 400L);
+        }
+        for (int i = 0; i < 20; i++) {
+            assertThat(policy.getDelayMillis(1)).isBetween(0L, 100L);
+        }
+    }
+
+    private void assertRejectionIsNotRetried(final IOException rejection) throws IOException {
+        final AtomicInteger attempts = new AtomicInteger();
+        httpClient = new OkHttpClient.Builder()
+                .addInterceptor(retryInterceptor)
+                .addInterceptor(new Interceptor() {
+                    @Override
+                    public Response intercept(final Chain chain) throws IOException {
+                        attempts.incrementAndGet();
+                        throw rejection;
+                    }
+                })
+                .build();
+
+        try {
+            execute(HttpMethod.GET, null);
+            fail("expected " + rejection.getClass().getSimpleName());
+        } catch (IOException e) {
+            assertThat(e).isSameAs(rejection);
+        }
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(retryInterceptor.getRetryCount()).isEqualTo(0);
+    }
+
+    private Response execute(final String method, final Object tag) throws IOException {
+        final RequestBody body = HttpMethod.GET.equals(method) || HttpMethod.DELETE.equals(method) ? null
+                : RequestBody.create(MediaType.parse("application/json"), "{}");
+        return httpClient.newCall(new Request.Builder()
+                .url(mockWebServer.url("/v1/secret/app"))
+                .method(method, body)
+                .tag(tag)
+                .build()).execute();
+    }
+}